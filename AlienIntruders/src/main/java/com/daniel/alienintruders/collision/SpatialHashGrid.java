@@ -0,0 +1,348 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.collision;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.sprite.Sprite;
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the playing field used as the broadphase for collision detection. Items are registered by
+ * integer identifier together with their bounds each tick, and queries only test the items sharing a cell with the
+ * queried rectangle. Items outside the field are kept in the border cells. Storage is held in primitive arrays that
+ * only grow, so steady-state registration and queries do not allocate.
+ *
+ * @author Bryan Daniel
+ */
+public class SpatialHashGrid {
+
+    /**
+     * The default width and height of a cell in pixels
+     */
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    /**
+     * The initial capacity for items when none is specified
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The number of cells an item no larger than a cell can overlap
+     */
+    private static final int CELLS_PER_ITEM = 4;
+
+    /**
+     * The marker for the end of a cell list
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The width and height of a cell
+     */
+    private final int cellSize;
+
+    /**
+     * The number of cell columns
+     */
+    private final int columns;
+
+    /**
+     * The number of cell rows
+     */
+    private final int rows;
+
+    /**
+     * The first entry of each cell
+     */
+    private final int[] cellHeads;
+
+    /**
+     * The next entry in the same cell
+     */
+    private int[] entryNext;
+
+    /**
+     * The item referenced by each entry
+     */
+    private int[] entryItem;
+
+    /**
+     * The number of entries in use
+     */
+    private int entryCount;
+
+    /**
+     * The identifier of each item
+     */
+    private int[] itemIds;
+
+    /**
+     * The x coordinate of each item
+     */
+    private int[] itemX;
+
+    /**
+     * The y coordinate of each item
+     */
+    private int[] itemY;
+
+    /**
+     * The width of each item
+     */
+    private int[] itemWidth;
+
+    /**
+     * The height of each item
+     */
+    private int[] itemHeight;
+
+    /**
+     * The query in which each item was last visited
+     */
+    private int[] itemStamps;
+
+    /**
+     * The number of items registered
+     */
+    private int itemCount;
+
+    /**
+     * The number of the current query
+     */
+    private int queryStamp;
+
+    /**
+     * Creates a grid covering the playing field with the default cell size.
+     */
+    public SpatialHashGrid() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a grid covering the playing field with the default cell size and room for the given number of items.
+     *
+     * @param capacity the number of items registered without growing
+     */
+    public SpatialHashGrid(int capacity) {
+        this(GameContext.FIELD_WIDTH, GameContext.FIELD_HEIGHT, DEFAULT_CELL_SIZE, capacity);
+    }
+
+    /**
+     * Creates a grid covering the given area.
+     *
+     * @param width the width of the area
+     * @param height the height of the area
+     * @param cellSize the width and height of a cell
+     */
+    public SpatialHashGrid(int width, int height, int cellSize) {
+        this(width, height, cellSize, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a grid covering the given area with room for the given number of items no larger than a cell.
+     *
+     * @param width the width of the area
+     * @param height the height of the area
+     * @param cellSize the width and height of a cell
+     * @param capacity the number of items registered without growing
+     */
+    public SpatialHashGrid(int width, int height, int cellSize, int capacity) {
+        this.cellSize = cellSize;
+        columns = (width + cellSize - 1) / cellSize;
+        rows = (height + cellSize - 1) / cellSize;
+        cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, NONE);
+        int itemCapacity = Math.max(1, capacity);
+        int entryCapacity = itemCapacity * CELLS_PER_ITEM;
+        entryNext = new int[entryCapacity];
+        entryItem = new int[entryCapacity];
+        itemIds = new int[itemCapacity];
+        itemX = new int[itemCapacity];
+        itemY = new int[itemCapacity];
+        itemWidth = new int[itemCapacity];
+        itemHeight = new int[itemCapacity];
+        itemStamps = new int[itemCapacity];
+    }
+
+    /**
+     * Removes all items from the grid.
+     */
+    public void clear() {
+        Arrays.fill(cellHeads, NONE);
+        entryCount = 0;
+        itemCount = 0;
+    }
+
+    /**
+     * Registers an item with the given bounds.
+     *
+     * @param id the identifier of the item
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param width the width
+     * @param height the height
+     */
+    public void insert(int id, int x, int y, int width, int height) {
+        if (itemCount == itemIds.length) {
+            growItems();
+        }
+        int item = itemCount++;
+        itemIds[item] = id;
+        itemX[item] = x;
+        itemY[item] = y;
+        itemWidth[item] = width;
+        itemHeight[item] = height;
+        itemStamps[item] = queryStamp;
+
+        int firstColumn = column(x);
+        int lastColumn = column(x + width - 1);
+        int firstRow = row(y);
+        int lastRow = row(y + height - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (entryCount == entryNext.length) {
+                    growEntries();
+                }
+                int cell = row * columns + column;
+                entryItem[entryCount] = item;
+                entryNext[entryCount] = cellHeads[cell];
+                cellHeads[cell] = entryCount++;
+            }
+        }
+    }
+
+    /**
+     * Registers a sprite with its current bounds.
+     *
+     * @param id the identifier of the sprite
+     * @param sprite the sprite
+     */
+    public void insert(int id, Sprite sprite) {
+        insert(id, sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight());
+    }
+
+    /**
+     * Finds the registered items intersecting the current bounds of the given sprite.
+     *
+     * @param sprite the sprite
+     * @param results the array receiving the identifiers of the intersecting items
+     * @return the number of identifiers written to results
+     */
+    public int query(Sprite sprite, int[] results) {
+        return query(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(), results);
+    }
+
+    /**
+     * Finds the registered items intersecting the given bounds. Each item is reported once, and no more than
+     * results.length identifiers are written, so a results array at least as long as getItemCount() receives every
+     * intersecting item.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param width the width
+     * @param height the height
+     * @param results the array receiving the identifiers of the intersecting items
+     * @return the number of identifiers written to results
+     */
+    public int query(int x, int y, int width, int height, int[] results) {
+        queryStamp++;
+        int found = 0;
+        int firstColumn = column(x);
+        int lastColumn = column(x + width - 1);
+        int firstRow = row(y);
+        int lastRow = row(y + height - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                for (int entry = cellHeads[row * columns + column]; entry != NONE; entry = entryNext[entry]) {
+                    int item = entryItem[entry];
+                    if (itemStamps[item] != queryStamp) {
+                        itemStamps[item] = queryStamp;
+                        if (intersects(item, x, y, width, height) && found < results.length) {
+                            results[found++] = itemIds[item];
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Tests the bounds of the given item against a rectangle with the same rules as java.awt.Rectangle.
+     *
+     * @param item the item index
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param width the width
+     * @param height the height
+     * @return true if intersecting, false otherwise
+     */
+    private boolean intersects(int item, int x, int y, int width, int height) {
+        return itemX[item] < x + width && x < itemX[item] + itemWidth[item]
+                && itemY[item] < y + height && y < itemY[item] + itemHeight[item];
+    }
+
+    /**
+     * Returns the cell column for the given x coordinate, clamped to the grid.
+     *
+     * @param x the x coordinate
+     * @return the column
+     */
+    private int column(int x) {
+        return x < 0 ? 0 : Math.min(x / cellSize, columns - 1);
+    }
+
+    /**
+     * Returns the cell row for the given y coordinate, clamped to the grid.
+     *
+     * @param y the y coordinate
+     * @return the row
+     */
+    private int row(int y) {
+        return y < 0 ? 0 : Math.min(y / cellSize, rows - 1);
+    }
+
+    /**
+     * Doubles the capacity for items.
+     */
+    private void growItems() {
+        int capacity = itemIds.length * 2;
+        itemIds = Arrays.copyOf(itemIds, capacity);
+        itemX = Arrays.copyOf(itemX, capacity);
+        itemY = Arrays.copyOf(itemY, capacity);
+        itemWidth = Arrays.copyOf(itemWidth, capacity);
+        itemHeight = Arrays.copyOf(itemHeight, capacity);
+        itemStamps = Arrays.copyOf(itemStamps, capacity);
+    }
+
+    /**
+     * Doubles the capacity for cell entries.
+     */
+    private void growEntries() {
+        int capacity = entryNext.length * 2;
+        entryNext = Arrays.copyOf(entryNext, capacity);
+        entryItem = Arrays.copyOf(entryItem, capacity);
+    }
+
+    /**
+     * Gets the value of itemCount.
+     *
+     * @return the number of registered items
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+}
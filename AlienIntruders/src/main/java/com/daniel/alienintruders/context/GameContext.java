@@ -17,9 +17,9 @@ package com.daniel.alienintruders.context;
 
 import com.daniel.alienintruders.database.GameDataAccess;
 import com.daniel.alienintruders.database.entity.AlienWave;
+import com.daniel.alienintruders.database.entity.Player;
 import com.daniel.alienintruders.database.entity.PlayerState;
-import com.daniel.alienintruders.image.GifFrame;
-import com.daniel.alienintruders.sprite.Alien;
+import com.daniel.alienintruders.sprite.AlienSwarm;
 import com.daniel.alienintruders.sprite.Spaceship;
 import com.daniel.alienintruders.sound.AudioPlayer;
 import com.daniel.alienintruders.sound.BackgroundAudioPlayer;
@@ -27,12 +27,10 @@ import com.daniel.alienintruders.sound.BuildUpAudioPlayer;
 import com.daniel.alienintruders.sound.ExplosionAudioPlayer;
 import com.daniel.alienintruders.sound.GameLostAudioPlayer;
 import com.daniel.alienintruders.sound.LaserAudioPlayer;
+import com.daniel.alienintruders.sound.SoftwareMixer;
+import com.daniel.alienintruders.sound.SoundFactory;
 import com.daniel.alienintruders.sound.VictoryAudioPlayer;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.time.LocalDateTime;
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -43,34 +41,39 @@ import java.util.concurrent.CountDownLatch;
 public class GameContext {
 
     /**
-     * The game context
+     * The width of the playing field
      */
-    private static GameContext gameContext;
+    public static final int FIELD_WIDTH = 1200;
 
     /**
-     * The number of alien columns currently in play
+     * The height of the playing field
      */
-    private int alienColumns;
+    public static final int FIELD_HEIGHT = 750;
 
     /**
-     * The protagonist of the game
+     * The time in milliseconds of a simulation tick
      */
-    private Spaceship spaceship;
+    public static final int TICK_DURATION = 17;
+
+    /**
+     * The name of the player in headless contexts
+     */
+    public static final String HEADLESS_PLAYER_NAME = "headless";
 
     /**
-     * The list of aliens
+     * The game context
      */
-    private ArrayList<Alien> alienList;
+    private static GameContext gameContext;
 
     /**
-     * The map to keep track of living aliens
+     * The protagonist of the game
      */
-    private Map<Alien, Boolean> livingAliens;
+    private Spaceship spaceship;
 
     /**
-     * The queue to hold images for multiple explosion animations
+     * The swarm of aliens
      */
-    private Queue<Queue<GifFrame>> explosionAnimationImages;
+    private AlienSwarm alienSwarm;
 
     /**
      * The audio player for lasers
@@ -102,15 +105,20 @@ public class GameContext {
      */
     private AudioPlayer backgroundAudioPlayer;
 
+    /**
+     * Indicates whether or not this context runs without audio and display
+     */
+    private boolean headless = false;
+
     /**
      * Indicates whether or not the game is initialized
      */
-    private boolean gameInitialized = false;
+    private volatile boolean gameInitialized = false;
 
     /**
      * Indicates whether or not the game is still running
      */
-    private boolean gameRunning = false;
+    private volatile boolean gameRunning = false;
 
     /**
      * The saved player state
@@ -140,6 +148,31 @@ public class GameContext {
         return gameContext;
     }
 
+    /**
+     * Creates a running context for the given wave without audio, images or database access. Headless contexts are
+     * not shared through getInstance() and are meant for soak tests, bots and benchmarks.
+     *
+     * @param alienWave the alien wave to play
+     * @return the new game context
+     */
+    public static GameContext createHeadlessContext(AlienWave alienWave) {
+        GameContext headlessContext = new GameContext();
+        headlessContext.headless = true;
+        Player player = new Player();
+        player.setName(HEADLESS_PLAYER_NAME);
+        player.setLastGameStarted(LocalDateTime.now());
+        PlayerState playerState = new PlayerState();
+        playerState.setPlayer(player);
+        playerState.setTerminated(false);
+        playerState.setScore(0);
+        playerState.setAlienWave(alienWave);
+        headlessContext.setPlayerState(playerState);
+        headlessContext.setGameTimeElapsed(0L);
+        headlessContext.createSprites(new CountDownLatch(1));
+        headlessContext.setGameRunning(true);
+        return headlessContext;
+    }
+
     /**
      * Cleans up resources and destroys the context.
      */
@@ -149,6 +182,7 @@ public class GameContext {
         gameContext.getGameLostAudioPlayer().close();
         gameContext.getVictoryAudioPlayer().close();
         gameContext.getBuildUpAudioPlayer().close();
+        SoftwareMixer.getInstance().stopAll();
         gameContext = null;
     }
 
@@ -166,18 +200,11 @@ public class GameContext {
     }
 
     /**
-     * Saves this context. If the game is terminated the score is also saved.
-     *
-     * @param savedLatch the latch to signal that the data is saved
+     * Queues this context to be saved in the background. If the game is terminated the score is saved in the same
+     * transaction.
      */
-    public void save(CountDownLatch savedLatch) {
-        new Thread(() -> {
-            GameDataAccess.saveGameContext(this);
-            if (getPlayerState().isTerminated()) {
-                GameDataAccess.saveScore(this);
-            }
-            savedLatch.countDown();
-        }).start();
+    public void save() {
+        GameDataAccess.saveGameContext(this);
     }
 
     /**
@@ -187,46 +214,37 @@ public class GameContext {
      */
     private void createSprites(CountDownLatch readyLatch) {
         spaceship = new Spaceship(this);
-        alienList = new ArrayList<>();
-        livingAliens = new HashMap<>();
-        explosionAnimationImages = new LinkedList<>();
-        laserAudioPlayer = new LaserAudioPlayer();
-        explosionAudioPlayer = new ExplosionAudioPlayer();
-        gameLostAudioPlayer = new GameLostAudioPlayer();
-        victoryAudioPlayer = new VictoryAudioPlayer();
-        buildUpAudioPlayer = new BuildUpAudioPlayer();
-        backgroundAudioPlayer = new BackgroundAudioPlayer();
-        AlienWave alienWave = gameContext.getPlayerState().getAlienWave();
-        alienColumns = alienWave.getNumberOfColumns();
-        for (int i = 0; i < alienWave.getNumberOfRows(); i++) {
-            for (int j = 0; j < alienColumns; j++) {
-                Alien alien = new Alien(Alien.ALIEN_INIT_X + 50 * j, Alien.ALIEN_INIT_Y + 50 * i, this);
-                alienList.add(alien);
-            }
-        }
-        for (Alien alien : alienList) {
-            livingAliens.put(alien, Boolean.TRUE);
+        if (!headless) {
+            SoundFactory.preloadSounds();
+            SoftwareMixer soundMixer = SoftwareMixer.getInstance();
+            laserAudioPlayer = new LaserAudioPlayer(soundMixer);
+            explosionAudioPlayer = new ExplosionAudioPlayer(soundMixer);
+            gameLostAudioPlayer = new GameLostAudioPlayer(soundMixer);
+            victoryAudioPlayer = new VictoryAudioPlayer(soundMixer);
+            buildUpAudioPlayer = new BuildUpAudioPlayer(soundMixer);
+            backgroundAudioPlayer = new BackgroundAudioPlayer(soundMixer);
         }
+        alienSwarm = new AlienSwarm(this, getPlayerState().getAlienWave());
         readyLatch.countDown();
         gameInitialized = true;
     }
 
     /**
-     * Gets the value of alienColumns.
+     * Gets the value of spaceship.
      *
-     * @return the number of alien columns
+     * @return the spaceship
      */
-    public int getAlienColumns() {
-        return alienColumns;
+    public Spaceship getSpaceship() {
+        return spaceship;
     }
 
     /**
-     * Gets the value of spaceship.
+     * Gets the value of headless.
      *
-     * @return the spaceship
+     * @return the flag indicating whether or not this context runs without audio and display
      */
-    public Spaceship getSpaceship() {
-        return spaceship;
+    public boolean isHeadless() {
+        return headless;
     }
 
     /**
@@ -257,30 +275,12 @@ public class GameContext {
     }
 
     /**
-     * Gets the value of alienList.
-     *
-     * @return the list of aliens
-     */
-    public ArrayList<Alien> getAlienList() {
-        return alienList;
-    }
-
-    /**
-     * Gets the value of livingAliens.
-     *
-     * @return the map of living aliens
-     */
-    public Map<Alien, Boolean> getLivingAliens() {
-        return livingAliens;
-    }
-
-    /**
-     * Gets the value of explosionAnimationImages.
+     * Gets the value of alienSwarm.
      *
-     * @return the queue of explosion animation images
+     * @return the swarm of aliens
      */
-    public Queue<Queue<GifFrame>> getExplosionAnimationImages() {
-        return explosionAnimationImages;
+    public AlienSwarm getAlienSwarm() {
+        return alienSwarm;
     }
 
     /**
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.database;
+
+import com.daniel.alienintruders.database.entity.AlienWave;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An immutable snapshot of the alien wave reference data, loaded with a single query. The current catalog is loaded
+ * on first use and replaced only by an explicit reload, which increments its version. The waves it holds are shared
+ * and must not be modified.
+ *
+ * @author Bryan Daniel
+ */
+public final class AlienWaveCatalog {
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(AlienWaveCatalog.class);
+
+    /**
+     * The current catalog or null if none has been loaded
+     */
+    private static volatile AlienWaveCatalog current;
+
+    /**
+     * The version of this catalog, starting at 1 and incremented by each reload
+     */
+    private final long version;
+
+    /**
+     * The waves ordered by wave number
+     */
+    private final List<AlienWave> alienWaves;
+
+    /**
+     * The waves indexed by wave number, with null where no wave has the number
+     */
+    private final AlienWave[] alienWavesByNumber;
+
+    /**
+     * Creates a catalog holding the given waves.
+     *
+     * @param version the version of the catalog
+     * @param alienWaves the waves ordered by wave number
+     */
+    private AlienWaveCatalog(long version, List<AlienWave> alienWaves) {
+        this.version = version;
+        this.alienWaves = Collections.unmodifiableList(new ArrayList<>(alienWaves));
+        int highestWave = 0;
+        for (AlienWave alienWave : alienWaves) {
+            highestWave = Math.max(highestWave, alienWave.getWave());
+        }
+        alienWavesByNumber = new AlienWave[highestWave + 1];
+        for (AlienWave alienWave : alienWaves) {
+            alienWavesByNumber[alienWave.getWave()] = alienWave;
+        }
+    }
+
+    /**
+     * Returns the current catalog, loading it from the database on first use.
+     *
+     * @return the current catalog
+     */
+    public static AlienWaveCatalog getInstance() {
+        AlienWaveCatalog catalog = current;
+        if (catalog == null) {
+            synchronized (AlienWaveCatalog.class) {
+                catalog = current;
+                if (catalog == null) {
+                    catalog = reload();
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Loads the waves from the database and replaces the current catalog with a new version.
+     *
+     * @return the new catalog
+     */
+    public static synchronized AlienWaveCatalog reload() {
+        long version = current == null ? 1 : current.version + 1;
+        AlienWaveCatalog catalog = new AlienWaveCatalog(version, AlienWaveDataAccess.findAllAlienWaves());
+        current = catalog;
+        LOGGER.info(String.format("Loaded alien wave catalog version %d with %d waves.", version,
+                catalog.getAlienWaveCount()));
+        return catalog;
+    }
+
+    /**
+     * Returns the wave with the given number.
+     *
+     * @param wave the wave number
+     * @return the wave or null if the catalog has no such wave
+     */
+    public AlienWave getAlienWave(int wave) {
+        return wave >= 0 && wave < alienWavesByNumber.length ? alienWavesByNumber[wave] : null;
+    }
+
+    /**
+     * Gets the value of alienWaves.
+     *
+     * @return the unmodifiable list of waves ordered by wave number
+     */
+    public List<AlienWave> getAlienWaves() {
+        return alienWaves;
+    }
+
+    /**
+     * Returns the number of waves in the catalog.
+     *
+     * @return the number of waves
+     */
+    public int getAlienWaveCount() {
+        return alienWaves.size();
+    }
+
+    /**
+     * Gets the value of version.
+     *
+     * @return the version of this catalog
+     */
+    public long getVersion() {
+        return version;
+    }
+}
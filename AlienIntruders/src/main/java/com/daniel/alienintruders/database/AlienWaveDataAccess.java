@@ -16,9 +16,9 @@
 package com.daniel.alienintruders.database;
 
 import com.daniel.alienintruders.database.entity.AlienWave;
+import com.daniel.alienintruders.jfr.DataAccessEvent;
 import com.daniel.alienintruders.util.DatabaseUtil;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -40,50 +40,29 @@ public class AlienWaveDataAccess {
     public static final Logger LOGGER = LogManager.getLogger(AlienWaveDataAccess.class);
 
     /**
-     * Private constructor - not instantiated
+     * The query finding all waves ordered by wave number
      */
-    private AlienWaveDataAccess() {
-    }
+    private static final String FIND_ALL_ALIEN_WAVES_SQL = "SELECT * "
+            + "FROM alien_wave w "
+            + "ORDER BY w.wave";
 
     /**
-     * Retrieves the alien wave associated with the given identifier.
-     *
-     * @param wave the number of the wave to retrieve
-     * @return the alien wave
+     * Private constructor - not instantiated
      */
-    static AlienWave findAlienWave(int wave) {
-        AlienWave alienWave = null;
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "SELECT * "
-                        + "FROM alien_wave w "
-                        + "WHERE w.wave = ?")) {
-            preparedStatement.setInt(1, wave);
-            ResultSet results = preparedStatement.executeQuery();
-            if (results.next()) {
-                alienWave = new AlienWave();
-                alienWave.setWave(wave);
-                alienWave.setDescription(results.getString("description"));
-                alienWave.setNumberOfRows(results.getInt("number_of_rows"));
-                alienWave.setNumberOfColumns(results.getInt("number_of_columns"));
-                alienWave.setMissileSpeed(results.getInt("missile_speed"));
-                alienWave.setPoints(results.getInt("points"));
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in findAlienWave().", e);
-        }
-        return alienWave;
+    private AlienWaveDataAccess() {
     }
 
     /**
-     * Retrieves all alien waves from the database.
+     * Retrieves all alien waves from the database, ordered by wave number. Callers should read the waves from
+     * AlienWaveCatalog, which loads them once with this method.
      *
      * @return the list of alien waves
      */
     static List<AlienWave> findAllAlienWaves() {
         List<AlienWave> alienWaves = new ArrayList<>();
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM alien_wave")) {
+        DataAccessEvent event = new DataAccessEvent("findAllAlienWaves", FIND_ALL_ALIEN_WAVES_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_ALIEN_WAVES_SQL)) {
             ResultSet results = preparedStatement.executeQuery();
             while (results.next()) {
                 AlienWave alienWave = new AlienWave();
@@ -95,30 +74,13 @@ public class AlienWaveDataAccess {
                 alienWave.setPoints(results.getInt("points"));
                 alienWaves.add(alienWave);
             }
+            event.setSucceeded(true);
         } catch (SQLException e) {
             LOGGER.error("SQLException occurred in findAllAlienWaves().", e);
+        } finally {
+            event.setRows(alienWaves.size());
+            event.commit();
         }
         return alienWaves;
     }
-
-    /**
-     * Retrieves the count of alien waves.
-     *
-     * @return the number of alien waves
-     */
-    static int getAlienWaveCount() {
-        int count = 0;
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "SELECT COUNT(*) "
-                        + "FROM alien_wave w")) {
-            ResultSet results = preparedStatement.executeQuery();
-            if (results.next()) {
-                count = results.getInt(1);
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in getAlienWaveCount().", e);
-        }
-        return count;
-    }
 }
@@ -19,9 +19,15 @@ import com.daniel.alienintruders.context.GameContext;
 import com.daniel.alienintruders.database.entity.AlienWave;
 import com.daniel.alienintruders.database.entity.Player;
 import com.daniel.alienintruders.database.entity.PlayerState;
+import com.daniel.alienintruders.database.entity.PlayerStats;
 import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import com.daniel.alienintruders.util.DatabaseUtil;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Provides a facade to the database access classes.
@@ -30,6 +36,11 @@ import java.util.List;
  */
 public class GameDataAccess {
 
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(GameDataAccess.class);
+
     /**
      * Private constructor.
      */
@@ -44,7 +55,10 @@ public class GameDataAccess {
      */
     public static void loadGameContext(String playerName,
             GameContext gameContext) {
-        PlayerState playerState = PlayerStateDataAccess.findPlayerState(playerName);
+        PlayerState playerState = PersistenceWorker.getInstance().findPendingPlayerState(playerName);
+        if (playerState == null) {
+            playerState = PlayerStateDataAccess.findPlayerState(playerName);
+        }
         if (playerState == null) {
             Player player = new Player();
             player.setName(playerName);
@@ -75,62 +89,178 @@ public class GameDataAccess {
     }
 
     /**
-     * Saved the specified game context.
+     * Queues the specified game context to be saved by the persistence worker and returns without waiting for the
+     * database. The state is copied when it is queued. If the game is terminated the score is saved as well.
      *
      * @param gameContext the game context to save
+     */
+    public static void saveGameContext(GameContext gameContext) {
+        PlayerState playerState = PersistenceWorker.copyPlayerState(gameContext.getPlayerState());
+        ScoreboardEntry score = null;
+        if (playerState.isTerminated()) {
+            score = new ScoreboardEntry();
+            score.setPlayerName(playerState.getPlayer().getName());
+            score.setScore(playerState.getScore());
+            score.setGameTimeElapsed(gameContext.getGameTimeElapsed());
+        }
+        PersistenceWorker.getInstance().enqueue(playerState, score);
+    }
+
+    /**
+     * Waits for the saves queued by saveGameContext to be written.
+     *
+     * @return true if every save has been written or dropped, false if the time ran out
+     */
+    public static boolean flushPendingSaves() {
+        return PersistenceWorker.getInstance().flush(PersistenceWorker.FLUSH_TIMEOUT);
+    }
+
+    /**
+     * Writes a queued save in a single transaction on one connection. The player and the player state are merged and
+     * the scores are inserted and added to the player statistics. Either all of them are saved or none. Written scores
+     * are added to the leaderboard with their generated ids.
+     *
+     * @param playerState the player state
+     * @param scores the scores to insert
      * @return true if successful, false otherwise
      */
-    public static boolean saveGameContext(GameContext gameContext) {
-        if (PlayerDataAccess.savePlayer(gameContext.getPlayerState().getPlayer())) {
-            return PlayerStateDataAccess.savePlayerState(gameContext.getPlayerState());
+    static boolean writePendingSave(PlayerState playerState, List<ScoreboardEntry> scores) {
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                PlayerDataAccess.mergePlayer(connection, playerState.getPlayer());
+                PlayerStateDataAccess.mergePlayerState(connection, playerState);
+                for (ScoreboardEntry score : scores) {
+                    ScoreboardEntryDataAccess.insertScore(connection, score);
+                    PlayerStatsDataAccess.recordScore(connection, score);
+                }
+                connection.commit();
+                for (ScoreboardEntry score : scores) {
+                    Leaderboard.getInstance().add(score);
+                }
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQLException occurred in writePendingSave().", e);
         }
         return false;
     }
 
     /**
-     * Saves the player's score.
+     * Loads the leaderboard from the database on the persistence worker, before any queued save is written.
+     */
+    public static void warmLeaderboard() {
+        PersistenceWorker.getInstance().execute(() -> Leaderboard.getInstance()
+                .warm(ScoreboardEntryDataAccess.findAllScores()));
+    }
+
+    /**
+     * Fetches a page of saved player scores, ordered from best to worst, from the leaderboard once it is warm. The
+     * top N scores are the page at offset 0 with a limit of N.
      *
-     * @param gameContext the game context
-     * @return true if successful, false otherwise
+     * @param offset the number of better scores to skip
+     * @param limit the maximum number of scores to return
+     * @return the page of scores
+     */
+    public static List<ScoreboardEntry> findScores(int offset, int limit) {
+        Leaderboard leaderboard = Leaderboard.getInstance();
+        if (leaderboard.isWarm()) {
+            return leaderboard.getPage(offset, limit);
+        }
+        return ScoreboardEntryDataAccess.findScores(offset, limit);
+    }
+
+    /**
+     * Retrieves the count of saved player scores after writing the scores still queued. This method should not be
+     * executed on the EDT.
+     *
+     * @return the number of scores
      */
-    public static boolean saveScore(GameContext gameContext) {
-        return ScoreboardEntryDataAccess.saveScore(gameContext);
+    public static int countScores() {
+        flushPendingSaves();
+        Leaderboard leaderboard = Leaderboard.getInstance();
+        if (leaderboard.isWarm()) {
+            return leaderboard.size();
+        }
+        return ScoreboardEntryDataAccess.countScores();
     }
 
     /**
-     * Fetches all saved player scores.
+     * Returns the scoreboard rank of the given score without waiting for queued saves. Scores equal in points and
+     * time share a rank.
      *
-     * @return the list of all scores
+     * @param score the score
+     * @param gameTimeElapsed the time taken for the score in seconds
+     * @return the rank, starting at 1
      */
-    public static List<ScoreboardEntry> findAllScores() {
-        return ScoreboardEntryDataAccess.findAllScores();
+    public static int findScoreRank(int score, long gameTimeElapsed) {
+        Leaderboard leaderboard = Leaderboard.getInstance();
+        if (leaderboard.isWarm()) {
+            return leaderboard.getRank(score, gameTimeElapsed);
+        }
+        return ScoreboardEntryDataAccess.countBetterScores(score, gameTimeElapsed) + 1;
     }
 
     /**
-     * Retrieves the alien wave associated with the given identifier.
+     * Retrieves the statistics of the player identified by the given name after writing the scores still queued. This
+     * method should not be executed on the EDT.
+     *
+     * @param playerName the player name
+     * @return the statistics or null if the player has not finished a game
+     */
+    public static PlayerStats findPlayerStats(String playerName) {
+        flushPendingSaves();
+        return PlayerStatsDataAccess.findPlayerStats(playerName);
+    }
+
+    /**
+     * Fetches the personal bests of all players, ordered from the best to the worst best score, after writing the
+     * scores still queued. This method should not be executed on the EDT.
+     *
+     * @return the list of player statistics
+     */
+    public static List<PlayerStats> findPersonalBests() {
+        flushPendingSaves();
+        return PlayerStatsDataAccess.findAllPlayerStats();
+    }
+
+    /**
+     * Retrieves the alien wave associated with the given identifier from the wave catalog.
      *
      * @param wave the number of the wave to retrieve
-     * @return the alien wave
+     * @return the alien wave or null if there is no such wave
      */
     public static AlienWave findAlienWave(int wave) {
-        return AlienWaveDataAccess.findAlienWave(wave);
+        return AlienWaveCatalog.getInstance().getAlienWave(wave);
     }
 
     /**
-     * Retrieves all alien waves from the database.
+     * Retrieves all alien waves from the wave catalog.
      *
-     * @return the list of alien waves
+     * @return the unmodifiable list of alien waves ordered by wave number
      */
     public static List<AlienWave> findAllAlienWaves() {
-        return AlienWaveDataAccess.findAllAlienWaves();
+        return AlienWaveCatalog.getInstance().getAlienWaves();
     }
 
     /**
-     * Retrieves the count of alien waves.
+     * Retrieves the count of alien waves from the wave catalog.
      *
      * @return the number of alien waves
      */
     public static int getAlienWaveCount() {
-        return AlienWaveDataAccess.getAlienWaveCount();
+        return AlienWaveCatalog.getInstance().getAlienWaveCount();
+    }
+
+    /**
+     * Reloads the wave catalog from the database.
+     *
+     * @return the version of the new catalog
+     */
+    public static long reloadAlienWaves() {
+        return AlienWaveCatalog.reload().getVersion();
     }
 }
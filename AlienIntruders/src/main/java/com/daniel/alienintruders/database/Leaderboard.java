@@ -0,0 +1,318 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.database;
+
+import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The scoreboard held in memory as an order-statistic tree, ordered like the scoreboard from best to worst score. The
+ * tree is a treap whose nodes count the nodes below them, so inserting a score, finding the rank of a score and
+ * finding the score at a rank take O(log n) expected time. It is warmed once from the database and then receives
+ * every score after it is written, both on the persistence worker thread, so it never differs from the table.
+ *
+ * @author Bryan Daniel
+ */
+public class Leaderboard {
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(Leaderboard.class);
+
+    /**
+     * The singleton instance
+     */
+    private static final Leaderboard INSTANCE = new Leaderboard();
+
+    /**
+     * The random priorities keeping the tree balanced
+     */
+    private final Random random = new Random();
+
+    /**
+     * The root of the tree or null if it is empty
+     */
+    private Node root;
+
+    /**
+     * Indicates whether or not the leaderboard has been loaded from the database
+     */
+    private volatile boolean warm = false;
+
+    /**
+     * Private constructor - use getInstance()
+     */
+    private Leaderboard() {
+    }
+
+    /**
+     * Gets the value of INSTANCE.
+     *
+     * @return the leaderboard
+     */
+    public static Leaderboard getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Replaces the contents of the leaderboard with the given scores and starts accepting new scores.
+     *
+     * @param scores every score in the database
+     */
+    synchronized void warm(List<ScoreboardEntry> scores) {
+        root = null;
+        for (ScoreboardEntry score : scores) {
+            root = insert(root, new Node(score, score.getId(), random.nextInt()));
+        }
+        warm = true;
+        LOGGER.info(String.format("Leaderboard warmed with %d scores.", size(root)));
+    }
+
+    /**
+     * Adds a score written to the database. The generated id of the score orders it among equal scores and times like
+     * the table identity does. Scores are ignored until the leaderboard is warm, since warming reads them from the
+     * table.
+     *
+     * @param score the score with its generated id
+     */
+    synchronized void add(ScoreboardEntry score) {
+        if (warm) {
+            root = insert(root, new Node(score, score.getId(), random.nextInt()));
+        }
+    }
+
+    /**
+     * Returns the rank the given score holds on the scoreboard. Scores equal in points and time share a rank.
+     *
+     * @param score the score
+     * @param gameTimeElapsed the time taken for the score in seconds
+     * @return the rank, starting at 1
+     */
+    public synchronized int getRank(int score, long gameTimeElapsed) {
+        int better = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score || (node.score == score && node.gameTimeElapsed < gameTimeElapsed)) {
+                better += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return better + 1;
+    }
+
+    /**
+     * Returns a page of scores ordered from best to worst.
+     *
+     * @param offset the number of better scores to skip
+     * @param limit the maximum number of scores to return
+     * @return the page of scores
+     */
+    public synchronized List<ScoreboardEntry> getPage(int offset, int limit) {
+        int end = Math.min(size(root), offset + limit);
+        List<ScoreboardEntry> scores = new ArrayList<>(Math.max(0, end - offset));
+        for (int index = Math.max(0, offset); index < end; index++) {
+            scores.add(select(index));
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the number of scores in the leaderboard.
+     *
+     * @return the number of scores
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Gets the value of warm.
+     *
+     * @return true if the leaderboard has been loaded from the database, false otherwise
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Returns the score at the given position.
+     *
+     * @param index the position, starting at 0 for the best score
+     * @return the score
+     */
+    private ScoreboardEntry select(int index) {
+        Node node = root;
+        int remaining = index;
+        while (true) {
+            int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node.entry;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Inserts the given node into the given subtree.
+     *
+     * @param subtree the root of the subtree or null
+     * @param node the node to insert
+     * @return the new root of the subtree
+     */
+    private static Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.priority > subtree.priority) {
+            split(subtree, node);
+            node.update();
+            return node;
+        }
+        if (node.compareTo(subtree) < 0) {
+            subtree.left = insert(subtree.left, node);
+        } else {
+            subtree.right = insert(subtree.right, node);
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    /**
+     * Splits the given subtree around the key of the given node, making the lower part its left child and the upper
+     * part its right child.
+     *
+     * @param subtree the root of the subtree or null
+     * @param node the node receiving the two parts
+     */
+    private static void split(Node subtree, Node node) {
+        if (subtree == null) {
+            node.left = null;
+            node.right = null;
+            return;
+        }
+        if (subtree.compareTo(node) < 0) {
+            split(subtree.right, node);
+            subtree.right = node.left;
+            subtree.update();
+            node.left = subtree;
+        } else {
+            split(subtree.left, node);
+            subtree.left = node.right;
+            subtree.update();
+            node.right = subtree;
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the given subtree.
+     *
+     * @param node the root of the subtree or null
+     * @return the number of nodes
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * A score in the tree.
+     */
+    private static final class Node implements Comparable<Node> {
+
+        /**
+         * The score
+         */
+        private final ScoreboardEntry entry;
+
+        /**
+         * The points of the score
+         */
+        private final int score;
+
+        /**
+         * The time taken for the score
+         */
+        private final long gameTimeElapsed;
+
+        /**
+         * The sequence number ordering equal scores and times
+         */
+        private final long sequence;
+
+        /**
+         * The random priority, greater than the priorities of the children
+         */
+        private final int priority;
+
+        /**
+         * The number of nodes in the subtree rooted here
+         */
+        private int size = 1;
+
+        /**
+         * The better scores
+         */
+        private Node left;
+
+        /**
+         * The worse scores
+         */
+        private Node right;
+
+        /**
+         * Sets the values for the score, the sequence number and the priority.
+         *
+         * @param entry the score
+         * @param sequence the sequence number
+         * @param priority the random priority
+         */
+        private Node(ScoreboardEntry entry, long sequence, int priority) {
+            this.entry = entry;
+            this.score = entry.getScore();
+            this.gameTimeElapsed = entry.getGameTimeElapsed() == null ? 0 : entry.getGameTimeElapsed();
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+
+        /**
+         * Recomputes the size of the subtree after its children change.
+         */
+        private void update() {
+            size = size(left) + size(right) + 1;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            if (score != other.score) {
+                return score > other.score ? -1 : 1;
+            }
+            if (gameTimeElapsed != other.gameTimeElapsed) {
+                return gameTimeElapsed < other.gameTimeElapsed ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
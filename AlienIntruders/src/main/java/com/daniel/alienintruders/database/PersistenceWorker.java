@@ -0,0 +1,367 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.database;
+
+import com.daniel.alienintruders.database.entity.Player;
+import com.daniel.alienintruders.database.entity.PlayerState;
+import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes saved games to the database on a single background thread. Saves are queued in the order their players were
+ * first queued, and a save queued while an earlier one for the same player is still waiting replaces its player state,
+ * so only the latest state per player is written. Scores are never coalesced; every queued score is inserted together
+ * with the state it was saved with. Failed writes are retried, and the queue is drained when the JVM shuts down. Tasks
+ * that must be ordered with the writes, such as loading data the writes update, run before any waiting save.
+ * <p>
+ * The queue lives only in memory and is drained by a shutdown hook, which runs on a normal exit, an interrupt or a
+ * termination signal. A hard kill, a crash of the JVM or a power loss skips the hook, and the saves still waiting in
+ * the queue are lost.
+ *
+ * @author Bryan Daniel
+ */
+public class PersistenceWorker implements Runnable {
+
+    /**
+     * The number of attempts made to write a save before it is dropped
+     */
+    public static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * The time in milliseconds to wait before retrying a failed write
+     */
+    public static final long RETRY_DELAY = 1000;
+
+    /**
+     * The time in milliseconds allowed for draining the queue on exit
+     */
+    public static final long FLUSH_TIMEOUT = 5000;
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(PersistenceWorker.class);
+
+    /**
+     * The singleton instance
+     */
+    private static PersistenceWorker instance;
+
+    /**
+     * The saves waiting to be written, by player name in the order the players were queued
+     */
+    private final Map<String, PendingSave> pending = new LinkedHashMap<>();
+
+    /**
+     * The tasks waiting to run, in the order they were queued
+     */
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    /**
+     * The save being written or null if the worker is not writing
+     */
+    private PendingSave inFlight;
+
+    /**
+     * Indicates whether or not the worker is running a task
+     */
+    private boolean runningTask = false;
+
+    /**
+     * The number of saves queued
+     */
+    private long queuedSaves = 0;
+
+    /**
+     * The number of saves that replaced the waiting state of the same player
+     */
+    private long coalescedSaves = 0;
+
+    /**
+     * The number of transactions written
+     */
+    private long writtenSaves = 0;
+
+    /**
+     * The number of saves dropped after failing every attempt
+     */
+    private long droppedSaves = 0;
+
+    /**
+     * Private constructor - use getInstance()
+     */
+    private PersistenceWorker() {
+    }
+
+    /**
+     * Returns the singleton instance, starting the worker thread and the shutdown hook that drains it on first use.
+     *
+     * @return the persistence worker
+     */
+    public synchronized static PersistenceWorker getInstance() {
+        if (instance == null) {
+            instance = new PersistenceWorker();
+            Thread workerThread = new Thread(instance, "persistence-writer");
+            workerThread.setDaemon(true);
+            workerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.flush(FLUSH_TIMEOUT),
+                    "persistence-flush"));
+        }
+        return instance;
+    }
+
+    /**
+     * Queues the given player state and, if not null, the given score. The objects must not be modified after they
+     * are queued.
+     *
+     * @param playerState a copy of the player state
+     * @param score the score to insert or null
+     */
+    synchronized void enqueue(PlayerState playerState, ScoreboardEntry score) {
+        String playerName = playerState.getPlayer().getName();
+        PendingSave pendingSave = pending.get(playerName);
+        if (pendingSave == null) {
+            pendingSave = new PendingSave(playerState);
+            pending.put(playerName, pendingSave);
+        } else {
+            pendingSave.playerState = playerState;
+            coalescedSaves++;
+        }
+        if (score != null) {
+            pendingSave.scores.add(score);
+        }
+        queuedSaves++;
+        notifyAll();
+    }
+
+    /**
+     * Queues a task to run on the worker thread before any waiting save.
+     *
+     * @param task the task
+     */
+    synchronized void execute(Runnable task) {
+        tasks.add(task);
+        notifyAll();
+    }
+
+    /**
+     * Returns a copy of the latest player state queued or being written for the given player, so a game started
+     * before the worker catches up continues from the state the player last saved.
+     *
+     * @param playerName the player name
+     * @return a copy of the player state or null if nothing is waiting for the player
+     */
+    synchronized PlayerState findPendingPlayerState(String playerName) {
+        PendingSave pendingSave = pending.get(playerName);
+        if (pendingSave == null && inFlight != null
+                && inFlight.playerState.getPlayer().getName().equals(playerName)) {
+            pendingSave = inFlight;
+        }
+        return pendingSave == null ? null : copyPlayerState(pendingSave.playerState);
+    }
+
+    /**
+     * Waits until every queued task has run and every queued save has been written or dropped.
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true if the queue is empty, false if the time ran out
+     */
+    public synchronized boolean flush(long timeout) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (!isIdle()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                LOGGER.warn("Timed out flushing saves - " + this);
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether or not nothing is queued or in progress.
+     *
+     * @return true if the worker is idle, false otherwise
+     */
+    private boolean isIdle() {
+        return pending.isEmpty() && tasks.isEmpty() && inFlight == null && !runningTask;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            PendingSave pendingSave;
+            Runnable task;
+            synchronized (this) {
+                while (pending.isEmpty() && tasks.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                task = tasks.poll();
+                if (task != null) {
+                    runningTask = true;
+                }
+            }
+            if (task != null) {
+                runTask(task);
+                continue;
+            }
+            synchronized (this) {
+                Iterator<PendingSave> iterator = pending.values().iterator();
+                pendingSave = iterator.next();
+                iterator.remove();
+                inFlight = pendingSave;
+            }
+            boolean written = false;
+            try {
+                written = GameDataAccess.writePendingSave(pendingSave.playerState, pendingSave.scores);
+            } catch (RuntimeException e) {
+                LOGGER.error("RuntimeException occurred in run().", e);
+            }
+            synchronized (this) {
+                inFlight = null;
+                if (written) {
+                    writtenSaves++;
+                } else {
+                    retry(pendingSave);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Runs the given task, keeping the worker alive if it fails.
+     *
+     * @param task the task
+     */
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("RuntimeException occurred in runTask().", e);
+        } finally {
+            synchronized (this) {
+                runningTask = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Queues a failed save again ahead of later saves for the same player, or drops it after MAX_ATTEMPTS, and waits
+     * RETRY_DELAY milliseconds before the next write.
+     *
+     * @param failedSave the save that failed
+     */
+    private void retry(PendingSave failedSave) {
+        failedSave.attempts++;
+        String playerName = failedSave.playerState.getPlayer().getName();
+        if (failedSave.attempts >= MAX_ATTEMPTS) {
+            droppedSaves++;
+            LOGGER.error(String.format("Dropped save for player %s with %d scores after %d attempts.", playerName,
+                    failedSave.scores.size(), failedSave.attempts));
+            return;
+        }
+        PendingSave laterSave = pending.get(playerName);
+        if (laterSave == null) {
+            pending.put(playerName, failedSave);
+        } else {
+            laterSave.scores.addAll(0, failedSave.scores);
+            laterSave.attempts = failedSave.attempts;
+        }
+        try {
+            wait(RETRY_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Copies the given player state and its player. The alien wave is shared since it is never modified.
+     *
+     * @param playerState the player state
+     * @return the copy
+     */
+    static PlayerState copyPlayerState(PlayerState playerState) {
+        Player player = new Player();
+        player.setName(playerState.getPlayer().getName());
+        player.setLastGameStarted(playerState.getPlayer().getLastGameStarted());
+        PlayerState copy = new PlayerState();
+        copy.setId(playerState.getId());
+        copy.setPlayer(player);
+        copy.setAlienWave(playerState.getAlienWave());
+        copy.setTerminated(playerState.isTerminated());
+        copy.setScore(playerState.getScore());
+        return copy;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Persistence worker: %d pending, %d queued, %d coalesced, %d written, %d dropped",
+                pending.size() + (inFlight == null ? 0 : 1) + tasks.size(), queuedSaves, coalescedSaves, writtenSaves,
+                droppedSaves);
+    }
+
+    /**
+     * The latest player state and the scores waiting to be written for one player.
+     */
+    private static final class PendingSave {
+
+        /**
+         * The latest player state
+         */
+        private PlayerState playerState;
+
+        /**
+         * The scores to insert, in the order they were queued
+         */
+        private final List<ScoreboardEntry> scores = new ArrayList<>();
+
+        /**
+         * The number of failed attempts to write this save
+         */
+        private int attempts = 0;
+
+        /**
+         * Sets the value for the player state.
+         *
+         * @param playerState the player state
+         */
+        private PendingSave(PlayerState playerState) {
+            this.playerState = playerState;
+        }
+    }
+}
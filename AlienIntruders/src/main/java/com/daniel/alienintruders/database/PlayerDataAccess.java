@@ -16,11 +16,9 @@
 package com.daniel.alienintruders.database;
 
 import com.daniel.alienintruders.database.entity.Player;
-import com.daniel.alienintruders.util.DatabaseUtil;
+import com.daniel.alienintruders.jfr.DataAccessEvent;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import org.apache.logging.log4j.LogManager;
@@ -39,84 +37,42 @@ public class PlayerDataAccess {
     public static final Logger LOGGER = LogManager.getLogger(PlayerDataAccess.class);
 
     /**
-     * Private constructor - not instantiated
+     * The statement inserting a player or updating the start time of an existing player
      */
-    private PlayerDataAccess() {
-    }
+    private static final String MERGE_PLAYER_SQL = "MERGE INTO player p "
+            + "USING SYSIBM.SYSDUMMY1 "
+            + "ON p.name = CAST(? AS VARCHAR(255)) "
+            + "WHEN MATCHED THEN UPDATE SET last_game_started = ? "
+            + "WHEN NOT MATCHED THEN INSERT (name, last_game_started) VALUES (?, ?)";
 
     /**
-     * Saves the given player information in the database.
-     *
-     * @param player the player to save
-     * @return true if successful, false otherwise
+     * Private constructor - not instantiated
      */
-    static boolean savePlayer(Player player) {
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "SELECT * "
-                        + "FROM player p "
-                        + "WHERE p.name = ?")) {
-            preparedStatement.setString(1, player.getName());
-            ResultSet results = preparedStatement.executeQuery();
-            if (results.next()) {
-                results.close();
-                return updatePlayer(player);
-            } else {
-                results.close();
-                return insertPlayer(player);
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in savePlayer().", e);
-        }
-        return false;
+    private PlayerDataAccess() {
     }
 
     /**
-     * Performs an insert to save player information.
+     * Saves the given player information on the given connection, inserting the player if it does not exist and
+     * updating it otherwise. The caller owns the connection and its transaction.
      *
+     * @param connection the connection
      * @param player the player to save
-     * @return true if successful, false otherwise
+     * @throws SQLException if the player cannot be saved
      */
-    private static boolean insertPlayer(Player player) {
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "INSERT INTO player (name, last_game_started) "
-                        + "VALUES (?, ?)")) {
+    static void mergePlayer(Connection connection, Player player) throws SQLException {
+        DataAccessEvent event = new DataAccessEvent("mergePlayer", MERGE_PLAYER_SQL);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(MERGE_PLAYER_SQL)) {
+            Timestamp lastGameStarted = Timestamp.valueOf(player.getLastGameStarted());
             preparedStatement.setString(1, player.getName());
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(player
-                    .getLastGameStarted()));
-            preparedStatement.execute();
-            LOGGER.info(String.format("Inserted player - name: %s last_game_started: %s",
-                    player.getName(), player.getLastGameStarted()));
-            return true;
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in insertPlayer().", e);
-        }
-        return false;
-    }
-
-    /**
-     * Performs an update to save player information.
-     *
-     * @param player the player to save
-     * @return true if successful, false otherwise
-     */
-    private static boolean updatePlayer(Player player) {
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "UPDATE player "
-                        + "SET last_game_started = ? "
-                        + "WHERE name = ?")) {
-            preparedStatement.setTimestamp(1, Timestamp.valueOf(player
-                    .getLastGameStarted()));
-            preparedStatement.setString(2, player.getName());
-            preparedStatement.execute();
-            LOGGER.info(String.format("Updated player, %s - last_game_started: %s",
+            preparedStatement.setTimestamp(2, lastGameStarted);
+            preparedStatement.setString(3, player.getName());
+            preparedStatement.setTimestamp(4, lastGameStarted);
+            event.setRows(preparedStatement.executeUpdate());
+            event.setSucceeded(true);
+            LOGGER.info(String.format("Merged player - name: %s last_game_started: %s",
                     player.getName(), player.getLastGameStarted()));
-            return true;
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in updatePlayer().", e);
+        } finally {
+            event.commit();
         }
-        return false;
     }
 }
@@ -18,9 +18,9 @@ package com.daniel.alienintruders.database;
 import com.daniel.alienintruders.database.entity.AlienWave;
 import com.daniel.alienintruders.database.entity.Player;
 import com.daniel.alienintruders.database.entity.PlayerState;
+import com.daniel.alienintruders.jfr.DataAccessEvent;
 import com.daniel.alienintruders.util.DatabaseUtil;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -40,6 +40,23 @@ public class PlayerStateDataAccess {
      */
     public static final Logger LOGGER = LogManager.getLogger(PlayerStateDataAccess.class);
 
+    /**
+     * The query finding the state of a player with the player. The wave is read from the wave catalog.
+     */
+    private static final String FIND_PLAYER_STATE_SQL = "SELECT * "
+            + "FROM player_state s, player p "
+            + "WHERE s.player_name = p.name "
+            + "AND s.player_name = ?";
+
+    /**
+     * The statement inserting the state of a player or updating the existing state of the player
+     */
+    private static final String MERGE_PLAYER_STATE_SQL = "MERGE INTO player_state s "
+            + "USING SYSIBM.SYSDUMMY1 "
+            + "ON s.player_name = CAST(? AS VARCHAR(255)) "
+            + "WHEN MATCHED THEN UPDATE SET alien_wave = ?, terminated = ?, score = ? "
+            + "WHEN NOT MATCHED THEN INSERT (player_name, alien_wave, terminated, score) VALUES (?, ?, ?, ?)";
+
     /**
      * Private constructor - not instantiated
      */
@@ -55,16 +72,14 @@ public class PlayerStateDataAccess {
     static PlayerState findPlayerState(String playerName) {
         PlayerState playerState = null;
 
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "SELECT * "
-                        + "FROM player_state s, player p, alien_wave w "
-                        + "WHERE s.player_name = p.name "
-                        + "AND s.alien_wave = w.wave "
-                        + "AND s.player_name = ?")) {
+        DataAccessEvent event = new DataAccessEvent("findPlayerState", FIND_PLAYER_STATE_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_PLAYER_STATE_SQL)) {
             preparedStatement.setString(1, playerName);
             ResultSet results = preparedStatement.executeQuery();
+            event.setSucceeded(true);
             if (results.next()) {
+                event.setRows(1);
                 if (StringUtils.isBlank(results.getString("name"))) {
                     return null;
                 }
@@ -72,13 +87,11 @@ public class PlayerStateDataAccess {
                 player.setName(results.getString("name"));
                 player.setLastGameStarted(results.getTimestamp(
                         "last_game_started").toLocalDateTime());
-                AlienWave alienWave = new AlienWave();
-                alienWave.setWave(results.getInt("alien_wave"));
-                alienWave.setDescription(results.getString("description"));
-                alienWave.setNumberOfRows(results.getInt("number_of_rows"));
-                alienWave.setNumberOfColumns(results.getInt("number_of_columns"));
-                alienWave.setMissileSpeed(results.getInt("missile_speed"));
-                alienWave.setPoints(results.getInt("points"));
+                AlienWave alienWave = AlienWaveCatalog.getInstance().getAlienWave(results.getInt("alien_wave"));
+                if (alienWave == null) {
+                    LOGGER.warn("Player state refers to an unknown alien wave: " + results.getInt("alien_wave"));
+                    return null;
+                }
                 playerState = new PlayerState();
                 playerState.setId(results.getInt("id"));
                 playerState.setTerminated(results.getBoolean("terminated"));
@@ -92,77 +105,39 @@ public class PlayerStateDataAccess {
             }
         } catch (SQLException e) {
             LOGGER.error("SQLException occurred in findPlayerState().", e);
+        } finally {
+            event.commit();
         }
 
         return playerState;
     }
 
     /**
-     * Saves the given player state in the database. If the state of the game for the player is non-existent, this
-     * results in an insert. If the state does exist, this will be an update operation.
+     * Saves the given player state on the given connection. The state is keyed by the player name, so an existing
+     * state is updated and a missing one is inserted. The caller owns the connection and its transaction.
      *
+     * @param connection the connection
      * @param playerState the player state
-     * @return true if successful, false otherwise
-     */
-    static boolean savePlayerState(PlayerState playerState) {
-        if (playerState.getId() == null) {
-            return insertPlayerState(playerState);
-        } else {
-            return updatePlayerState(playerState);
-        }
-    }
-
-    /**
-     * Performs an insert to save player state information.
-     *
-     * @param playerState the player state to save
-     * @return true if successful, false otherwise
+     * @throws SQLException if the player state cannot be saved
      */
-    private static boolean insertPlayerState(PlayerState playerState) {
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "INSERT INTO player_state (player_name, alien_wave, terminated, score) "
-                        + "VALUES (?, ?, ?, ?)")) {
+    static void mergePlayerState(Connection connection, PlayerState playerState) throws SQLException {
+        DataAccessEvent event = new DataAccessEvent("mergePlayerState", MERGE_PLAYER_STATE_SQL);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(MERGE_PLAYER_STATE_SQL)) {
             preparedStatement.setString(1, playerState.getPlayer().getName());
             preparedStatement.setInt(2, playerState.getAlienWave().getWave());
             preparedStatement.setBoolean(3, playerState.isTerminated());
             preparedStatement.setInt(4, playerState.getScore());
-            preparedStatement.execute();
-            LOGGER.info(String.format("Inserted player state - name: %s wave: %d terminated: %s score: %s",
+            preparedStatement.setString(5, playerState.getPlayer().getName());
+            preparedStatement.setInt(6, playerState.getAlienWave().getWave());
+            preparedStatement.setBoolean(7, playerState.isTerminated());
+            preparedStatement.setInt(8, playerState.getScore());
+            event.setRows(preparedStatement.executeUpdate());
+            event.setSucceeded(true);
+            LOGGER.info(String.format("Merged player state - name: %s wave: %d terminated: %s score: %s",
                     playerState.getPlayer().getName(), playerState.getAlienWave().getWave(), playerState.isTerminated(),
                     playerState.getScore()));
-            return true;
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in insertPlayerState().", e);
-        }
-        return false;
-    }
-
-    /**
-     * Performs an update to save player state information.
-     *
-     * @param playerState the player state to save
-     * @return true if successful, false otherwise
-     */
-    private static boolean updatePlayerState(PlayerState playerState) {
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "UPDATE player_state "
-                        + "SET player_name = ?, alien_wave = ?, terminated = ?, score = ? "
-                        + "WHERE id = ?")) {
-            preparedStatement.setString(1, playerState.getPlayer().getName());
-            preparedStatement.setInt(2, playerState.getAlienWave().getWave());
-            preparedStatement.setBoolean(3, playerState.isTerminated());
-            preparedStatement.setInt(4, playerState.getScore());
-            preparedStatement.setInt(5, playerState.getId());
-            preparedStatement.execute();
-            LOGGER.info(String.format("Updated player state - id: %d name: %s wave: %d terminated: %s score: %s",
-                    playerState.getId(), playerState.getPlayer().getName(), playerState.getAlienWave().getWave(),
-                    playerState.isTerminated(), playerState.getScore()));
-            return true;
-        } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in updatePlayerState().", e);
+        } finally {
+            event.commit();
         }
-        return false;
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.database;
+
+import com.daniel.alienintruders.database.entity.PlayerStats;
+import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import com.daniel.alienintruders.jfr.DataAccessEvent;
+import com.daniel.alienintruders.util.DatabaseUtil;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Connects to the database to retrieve and update the statistics of each player. The statistics are updated with
+ * every score, so reading them never aggregates the scoreboard.
+ *
+ * @author Bryan Daniel
+ */
+public class PlayerStatsDataAccess {
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(PlayerStatsDataAccess.class);
+
+    /**
+     * The statement adding a score to the statistics of a player, creating them for the first score. A score replaces
+     * the best score if it has more points, or equal points in less time.
+     */
+    private static final String RECORD_SCORE_SQL = "MERGE INTO player_stats p "
+            + "USING SYSIBM.SYSDUMMY1 "
+            + "ON p.player_name = CAST(? AS VARCHAR(255)) "
+            + "WHEN MATCHED THEN UPDATE SET games_played = p.games_played + 1, "
+            + "best_game_time_elapsed = CASE WHEN CAST(? AS INTEGER) > p.best_score "
+            + "OR (CAST(? AS INTEGER) = p.best_score AND CAST(? AS BIGINT) < p.best_game_time_elapsed) "
+            + "THEN CAST(? AS BIGINT) ELSE p.best_game_time_elapsed END, "
+            + "best_score = CASE WHEN CAST(? AS INTEGER) > p.best_score "
+            + "THEN CAST(? AS INTEGER) ELSE p.best_score END, "
+            + "total_score = p.total_score + ?, "
+            + "total_game_time_elapsed = p.total_game_time_elapsed + ? "
+            + "WHEN NOT MATCHED THEN INSERT (player_name, games_played, best_score, best_game_time_elapsed, "
+            + "total_score, total_game_time_elapsed) VALUES (?, 1, ?, ?, ?, ?)";
+
+    /**
+     * The query finding the statistics of a player
+     */
+    private static final String FIND_PLAYER_STATS_SQL = "SELECT * "
+            + "FROM player_stats p "
+            + "WHERE p.player_name = ?";
+
+    /**
+     * The query finding the statistics of all players from the best to the worst best score
+     */
+    private static final String FIND_ALL_PLAYER_STATS_SQL = "SELECT * "
+            + "FROM player_stats p "
+            + "ORDER BY p.best_score DESC, p.best_game_time_elapsed ASC, p.player_name ASC";
+
+    /**
+     * Private constructor - not instantiated
+     */
+    private PlayerStatsDataAccess() {
+    }
+
+    /**
+     * Adds the given score to the statistics of its player on the given connection. The caller owns the connection
+     * and its transaction, which should also insert the score.
+     *
+     * @param connection the connection
+     * @param score the score
+     * @throws SQLException if the statistics cannot be saved
+     */
+    static void recordScore(Connection connection, ScoreboardEntry score) throws SQLException {
+        long gameTimeElapsed = score.getGameTimeElapsed() == null ? 0 : score.getGameTimeElapsed();
+        DataAccessEvent event = new DataAccessEvent("recordScore", RECORD_SCORE_SQL);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(RECORD_SCORE_SQL)) {
+            preparedStatement.setString(1, score.getPlayerName());
+            preparedStatement.setInt(2, score.getScore());
+            preparedStatement.setInt(3, score.getScore());
+            preparedStatement.setLong(4, gameTimeElapsed);
+            preparedStatement.setLong(5, gameTimeElapsed);
+            preparedStatement.setInt(6, score.getScore());
+            preparedStatement.setInt(7, score.getScore());
+            preparedStatement.setLong(8, score.getScore());
+            preparedStatement.setLong(9, gameTimeElapsed);
+            preparedStatement.setString(10, score.getPlayerName());
+            preparedStatement.setInt(11, score.getScore());
+            preparedStatement.setLong(12, gameTimeElapsed);
+            preparedStatement.setLong(13, score.getScore());
+            preparedStatement.setLong(14, gameTimeElapsed);
+            event.setRows(preparedStatement.executeUpdate());
+            event.setSucceeded(true);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Retrieves the statistics of the player identified by the given name.
+     *
+     * @param playerName the player name
+     * @return the statistics or null if the player has not finished a game
+     */
+    static PlayerStats findPlayerStats(String playerName) {
+        PlayerStats playerStats = null;
+        DataAccessEvent event = new DataAccessEvent("findPlayerStats", FIND_PLAYER_STATS_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_PLAYER_STATS_SQL)) {
+            preparedStatement.setString(1, playerName);
+            ResultSet results = preparedStatement.executeQuery();
+            if (results.next()) {
+                playerStats = readPlayerStats(results);
+                event.setRows(1);
+            }
+            event.setSucceeded(true);
+        } catch (SQLException e) {
+            LOGGER.error("SQLException occurred in findPlayerStats().", e);
+        } finally {
+            event.commit();
+        }
+        return playerStats;
+    }
+
+    /**
+     * Fetches the statistics of all players, ordered from the best to the worst best score.
+     *
+     * @return the list of statistics
+     */
+    static List<PlayerStats> findAllPlayerStats() {
+        List<PlayerStats> allPlayerStats = new ArrayList<>();
+        DataAccessEvent event = new DataAccessEvent("findAllPlayerStats", FIND_ALL_PLAYER_STATS_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_PLAYER_STATS_SQL)) {
+            ResultSet results = preparedStatement.executeQuery();
+            while (results.next()) {
+                allPlayerStats.add(readPlayerStats(results));
+            }
+            event.setSucceeded(true);
+        } catch (SQLException e) {
+            LOGGER.error("SQLException occurred in findAllPlayerStats().", e);
+        } finally {
+            event.setRows(allPlayerStats.size());
+            event.commit();
+        }
+        return allPlayerStats;
+    }
+
+    /**
+     * Reads the statistics in the current row of the given results.
+     *
+     * @param results the results
+     * @return the statistics
+     * @throws SQLException if the row cannot be read
+     */
+    private static PlayerStats readPlayerStats(ResultSet results) throws SQLException {
+        PlayerStats playerStats = new PlayerStats();
+        playerStats.setPlayerName(results.getString("player_name"));
+        playerStats.setGamesPlayed(results.getInt("games_played"));
+        playerStats.setBestScore(results.getInt("best_score"));
+        playerStats.setBestGameTimeElapsed(results.getLong("best_game_time_elapsed"));
+        playerStats.setTotalScore(results.getLong("total_score"));
+        playerStats.setTotalGameTimeElapsed(results.getLong("total_game_time_elapsed"));
+        return playerStats;
+    }
+}
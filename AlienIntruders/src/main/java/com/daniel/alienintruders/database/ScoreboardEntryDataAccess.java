@@ -15,15 +15,14 @@
  */
 package com.daniel.alienintruders.database;
 
-import com.daniel.alienintruders.context.GameContext;
-import com.daniel.alienintruders.database.entity.PlayerState;
 import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import com.daniel.alienintruders.jfr.DataAccessEvent;
 import com.daniel.alienintruders.util.DatabaseUtil;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
@@ -41,6 +40,42 @@ public class ScoreboardEntryDataAccess {
      */
     public static final Logger LOGGER = LogManager.getLogger(ScoreboardEntryDataAccess.class);
 
+    /**
+     * The query finding a page of scores from best to worst, in the order of the scoreboard rank index
+     */
+    private static final String FIND_SCORES_SQL = "SELECT * "
+            + "FROM scoreboard_entry s "
+            + "ORDER BY s.score DESC, s.game_time_elapsed ASC, s.id ASC "
+            + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    /**
+     * The query finding every score from best to worst
+     */
+    private static final String FIND_ALL_SCORES_SQL = "SELECT * "
+            + "FROM scoreboard_entry s "
+            + "ORDER BY s.score DESC, s.game_time_elapsed ASC, s.id ASC";
+
+    /**
+     * The query counting the scores better than a given score
+     */
+    private static final String COUNT_BETTER_SCORES_SQL = "SELECT COUNT(*) "
+            + "FROM scoreboard_entry s "
+            + "WHERE s.score > ? "
+            + "OR (s.score = ? AND s.game_time_elapsed < ?)";
+
+    /**
+     * The query counting the scores
+     */
+    private static final String COUNT_SCORES_SQL = "SELECT COUNT(*) "
+            + "FROM scoreboard_entry s";
+
+    /**
+     * The statement inserting a score
+     */
+    private static final String INSERT_SCORE_SQL
+            = "INSERT INTO scoreboard_entry (player_name, score, game_time_elapsed) "
+            + "VALUES (?, ?, ?)";
+
     /**
      * Private constructor - not instantiated
      */
@@ -54,48 +89,149 @@ public class ScoreboardEntryDataAccess {
      */
     static List<ScoreboardEntry> findAllScores() {
         List<ScoreboardEntry> scores = new ArrayList<>();
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "SELECT * "
-                        + "FROM scoreboard_entry s "
-                        + "ORDER BY s.score DESC, s.game_time_elapsed ASC")) {
+        DataAccessEvent event = new DataAccessEvent("findAllScores", FIND_ALL_SCORES_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL_SCORES_SQL)) {
             ResultSet results = preparedStatement.executeQuery();
             while (results.next()) {
-                ScoreboardEntry score = new ScoreboardEntry();
-                score.setId(results.getInt("id"));
-                score.setPlayerName(results.getString("player_name"));
-                score.setScore(results.getInt("score"));
-                score.setGameTimeElapsed(results.getLong("game_time_elapsed"));
-                scores.add(score);
+                scores.add(readScore(results));
             }
+            event.setSucceeded(true);
         } catch (SQLException e) {
             LOGGER.error("SQLException occurred in findAllScores().", e);
+        } finally {
+            event.setRows(scores.size());
+            event.commit();
         }
         return scores;
     }
 
     /**
-     * Saves the score for given game context.
+     * Fetches a page of player scores from the database, ordered from best to worst.
      *
-     * @param gameContext the context containing the score data to save
-     * @return true if successful, false otherwise
+     * @param offset the number of better scores to skip
+     * @param limit the maximum number of scores to return
+     * @return the page of scores
      */
-    static boolean saveScore(GameContext gameContext) {
-        PlayerState playerState = gameContext.getPlayerState();
-        try (Connection connection = DriverManager.getConnection(DatabaseUtil.DB_URL);
-                PreparedStatement preparedStatement = connection.prepareStatement(
-                        "INSERT INTO scoreboard_entry (player_name, score, game_time_elapsed) "
-                        + "VALUES (?, ?, ?)")) {
-            preparedStatement.setString(1, playerState.getPlayer().getName());
-            preparedStatement.setInt(2, playerState.getScore());
-            preparedStatement.setLong(3, gameContext.getGameTimeElapsed());
-            preparedStatement.execute();
-            LOGGER.info(String.format("Inserted score - name: %s score: %s game_time_elapsed: %s",
-                    playerState.getPlayer().getName(), playerState.getScore(), gameContext.getGameTimeElapsed()));
-            return true;
+    static List<ScoreboardEntry> findScores(int offset, int limit) {
+        List<ScoreboardEntry> scores = new ArrayList<>(limit);
+        DataAccessEvent event = new DataAccessEvent("findScores", FIND_SCORES_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(FIND_SCORES_SQL)) {
+            preparedStatement.setInt(1, offset);
+            preparedStatement.setInt(2, limit);
+            ResultSet results = preparedStatement.executeQuery();
+            while (results.next()) {
+                scores.add(readScore(results));
+            }
+            event.setSucceeded(true);
         } catch (SQLException e) {
-            LOGGER.error("SQLException occurred in saveScore().", e);
+            LOGGER.error("SQLException occurred in findScores().", e);
+        } finally {
+            event.setRows(scores.size());
+            event.commit();
         }
-        return false;
+        return scores;
+    }
+
+    /**
+     * Retrieves the count of player scores better than the given score.
+     *
+     * @param score the score
+     * @param gameTimeElapsed the time taken for the score in seconds
+     * @return the number of better scores
+     */
+    static int countBetterScores(int score, long gameTimeElapsed) {
+        int count = 0;
+        DataAccessEvent event = new DataAccessEvent("countBetterScores", COUNT_BETTER_SCORES_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(COUNT_BETTER_SCORES_SQL)) {
+            preparedStatement.setInt(1, score);
+            preparedStatement.setInt(2, score);
+            preparedStatement.setLong(3, gameTimeElapsed);
+            ResultSet results = preparedStatement.executeQuery();
+            if (results.next()) {
+                count = results.getInt(1);
+                event.setRows(1);
+            }
+            event.setSucceeded(true);
+        } catch (SQLException e) {
+            LOGGER.error("SQLException occurred in countBetterScores().", e);
+        } finally {
+            event.commit();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the count of player scores.
+     *
+     * @return the number of scores
+     */
+    static int countScores() {
+        int count = 0;
+        DataAccessEvent event = new DataAccessEvent("countScores", COUNT_SCORES_SQL);
+        try (Connection connection = DatabaseUtil.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(COUNT_SCORES_SQL)) {
+            ResultSet results = preparedStatement.executeQuery();
+            if (results.next()) {
+                count = results.getInt(1);
+                event.setRows(1);
+            }
+            event.setSucceeded(true);
+        } catch (SQLException e) {
+            LOGGER.error("SQLException occurred in countScores().", e);
+        } finally {
+            event.commit();
+        }
+        return count;
+    }
+
+    /**
+     * Inserts the given score on the given connection and sets its id to the generated identity. The caller owns the
+     * connection and its transaction.
+     *
+     * @param connection the connection
+     * @param score the score to save
+     * @return the generated id of the score
+     * @throws SQLException if the score cannot be saved
+     */
+    static int insertScore(Connection connection, ScoreboardEntry score) throws SQLException {
+        DataAccessEvent event = new DataAccessEvent("insertScore", INSERT_SCORE_SQL);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_SCORE_SQL,
+                Statement.RETURN_GENERATED_KEYS)) {
+            preparedStatement.setString(1, score.getPlayerName());
+            preparedStatement.setInt(2, score.getScore());
+            preparedStatement.setLong(3, score.getGameTimeElapsed());
+            event.setRows(preparedStatement.executeUpdate());
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("No id was generated for the inserted score.");
+                }
+                score.setId(generatedKeys.getInt(1));
+            }
+            event.setSucceeded(true);
+            LOGGER.info(String.format("Inserted score - id: %s name: %s score: %s game_time_elapsed: %s",
+                    score.getId(), score.getPlayerName(), score.getScore(), score.getGameTimeElapsed()));
+            return score.getId();
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Reads the score in the current row of the given results.
+     *
+     * @param results the results
+     * @return the score
+     * @throws SQLException if the row cannot be read
+     */
+    private static ScoreboardEntry readScore(ResultSet results) throws SQLException {
+        ScoreboardEntry score = new ScoreboardEntry();
+        score.setId(results.getInt("id"));
+        score.setPlayerName(results.getString("player_name"));
+        score.setScore(results.getInt("score"));
+        score.setGameTimeElapsed(results.getLong("game_time_elapsed"));
+        return score;
     }
 }
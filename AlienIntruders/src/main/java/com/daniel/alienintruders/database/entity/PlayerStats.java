@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.database.entity;
+
+/**
+ * Represents the statistics of all finished games of a player.
+ *
+ * @author Bryan Daniel
+ */
+public class PlayerStats {
+
+    /**
+     * The player name
+     */
+    private String playerName;
+
+    /**
+     * The number of games the player finished
+     */
+    private int gamesPlayed;
+
+    /**
+     * The best score of the player
+     */
+    private int bestScore;
+
+    /**
+     * The time elapsed in seconds for the game with the best score
+     */
+    private long bestGameTimeElapsed;
+
+    /**
+     * The sum of the scores of all games of the player
+     */
+    private long totalScore;
+
+    /**
+     * The sum of the time elapsed in seconds of all games of the player
+     */
+    private long totalGameTimeElapsed;
+
+    /**
+     * Gets the value of playerName.
+     *
+     * @return the player name
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Sets the value of playerName.
+     *
+     * @param playerName the new player name to set
+     */
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    /**
+     * Gets the value of gamesPlayed.
+     *
+     * @return the number of games played
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Sets the value of gamesPlayed.
+     *
+     * @param gamesPlayed the new number of games played to set
+     */
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    /**
+     * Gets the value of bestScore.
+     *
+     * @return the best score
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Sets the value of bestScore.
+     *
+     * @param bestScore the new best score to set
+     */
+    public void setBestScore(int bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    /**
+     * Gets the value of bestGameTimeElapsed.
+     *
+     * @return the time of the best game
+     */
+    public long getBestGameTimeElapsed() {
+        return bestGameTimeElapsed;
+    }
+
+    /**
+     * Sets the value of bestGameTimeElapsed.
+     *
+     * @param bestGameTimeElapsed the new time of the best game to set
+     */
+    public void setBestGameTimeElapsed(long bestGameTimeElapsed) {
+        this.bestGameTimeElapsed = bestGameTimeElapsed;
+    }
+
+    /**
+     * Gets the value of totalScore.
+     *
+     * @return the total score
+     */
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Sets the value of totalScore.
+     *
+     * @param totalScore the new total score to set
+     */
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    /**
+     * Gets the value of totalGameTimeElapsed.
+     *
+     * @return the total game time
+     */
+    public long getTotalGameTimeElapsed() {
+        return totalGameTimeElapsed;
+    }
+
+    /**
+     * Sets the value of totalGameTimeElapsed.
+     *
+     * @param totalGameTimeElapsed the new total game time to set
+     */
+    public void setTotalGameTimeElapsed(long totalGameTimeElapsed) {
+        this.totalGameTimeElapsed = totalGameTimeElapsed;
+    }
+
+    /**
+     * Returns the average time elapsed in seconds per game.
+     *
+     * @return the average game time or 0 if no game has been played
+     */
+    public long getAverageGameTimeElapsed() {
+        return gamesPlayed == 0 ? 0 : totalGameTimeElapsed / gamesPlayed;
+    }
+}
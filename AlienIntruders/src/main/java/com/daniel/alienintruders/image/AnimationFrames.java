@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.image;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * An immutable sequence of decoded animation frames shared by every running animation.
+ *
+ * @author Bryan Daniel
+ */
+public final class AnimationFrames {
+
+    /**
+     * The frames of the animation
+     */
+    private final BufferedImage[] frames;
+
+    /**
+     * Sets the frames of the animation.
+     *
+     * @param frames the decoded frames
+     */
+    AnimationFrames(List<BufferedImage> frames) {
+        this.frames = frames.toArray(new BufferedImage[frames.size()]);
+    }
+
+    /**
+     * Gets the number of frames.
+     *
+     * @return the frame count
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Gets the frame at the given index. The returned image must not be modified.
+     *
+     * @param index the frame index
+     * @return the frame
+     */
+    public BufferedImage getFrame(int index) {
+        return frames[index];
+    }
+}
@@ -15,10 +15,25 @@
  */
 package com.daniel.alienintruders.image;
 
-import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
- * Creates ImageIcon objects for all image types.
+ * Provides the images for all image types. Each image is decoded once, converted to the format of the default screen
+ * and shared by every caller.
  *
  * @author Bryan Daniel
  */
@@ -59,6 +74,21 @@ public class ImageFactory {
      */
     public static final String EXPLOSION_URL = "images/Explosion.gif";
 
+    /**
+     * The decoded images by image type
+     */
+    private static final Map<ImageType, BufferedImage> IMAGE_CACHE = new EnumMap<>(ImageType.class);
+
+    /**
+     * The decoded frames of the explosion animation
+     */
+    private static AnimationFrames explosionFrames;
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(ImageFactory.class);
+
     /**
      * Private constructor - not instantiated
      */
@@ -66,45 +96,131 @@ public class ImageFactory {
     }
 
     /**
-     * Creates and returns an ImageIcon for the specified image type.
+     * Returns the shared image for the specified image type, decoding it on the first request. The returned image
+     * must not be modified.
+     *
+     * @param imageType the image type
+     * @return the image or null if it cannot be loaded
+     */
+    public static synchronized BufferedImage getImage(ImageType imageType) {
+        BufferedImage image = IMAGE_CACHE.get(imageType);
+        if (image == null) {
+            image = loadImage(imageType);
+            if (image != null) {
+                IMAGE_CACHE.put(imageType, image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns the shared frames of the explosion animation, decoding the GIF on the first request.
+     *
+     * @return the explosion frames, empty if the animation cannot be loaded
+     */
+    public static synchronized AnimationFrames getExplosionFrames() {
+        if (explosionFrames == null) {
+            explosionFrames = new AnimationFrames(loadFrames(EXPLOSION_URL));
+        }
+        return explosionFrames;
+    }
+
+    /**
+     * Decodes every frame of the specified GIF and converts the frames to compatible images.
+     *
+     * @param resource the classpath location of the GIF
+     * @return the frames, empty if the GIF cannot be loaded
+     */
+    private static List<BufferedImage> loadFrames(String resource) {
+        List<BufferedImage> frames = new ArrayList<>();
+        ImageReader reader = null;
+        try (ImageInputStream in = ImageIO.createImageInputStream(ImageFactory.class.getClassLoader()
+                .getResourceAsStream(resource))) {
+            reader = ImageIO.getImageReadersBySuffix("GIF").next();
+            reader.setInput(in);
+            int count = reader.getNumImages(true);
+            for (int i = 0; i < count; i++) {
+                frames.add(toCompatibleImage(reader.read(i)));
+            }
+        } catch (IOException ex) {
+            LOGGER.error("IOException occurred in loadFrames.", ex);
+        } finally {
+            if (reader != null) {
+                reader.dispose();
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Decodes the image for the specified image type and converts it to a compatible image.
+     *
+     * @param imageType the image type
+     * @return the image or null if it cannot be loaded
+     */
+    private static BufferedImage loadImage(ImageType imageType) {
+        URL url = ImageFactory.class.getClassLoader().getResource(getUrl(imageType));
+        if (url == null) {
+            LOGGER.error("Image resource not found: " + getUrl(imageType));
+            return null;
+        }
+        try {
+            BufferedImage decodedImage = ImageIO.read(url);
+            return decodedImage == null ? null : toCompatibleImage(decodedImage);
+        } catch (IOException ex) {
+            LOGGER.error("IOException occurred in loadImage.", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Copies the given image into an image matching the pixel layout of the default screen, so drawing it needs no
+     * format conversion. In a headless environment the image is returned unchanged.
+     *
+     * @param image the decoded image
+     * @return the compatible image
+     */
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return image;
+        }
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (image.getColorModel().equals(configuration.getColorModel(image.getTransparency()))) {
+            return image;
+        }
+        BufferedImage compatibleImage = configuration.createCompatibleImage(image.getWidth(), image.getHeight(),
+                image.getTransparency());
+        Graphics2D graphics = compatibleImage.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return compatibleImage;
+    }
+
+    /**
+     * Returns the classpath location of the specified image type.
      *
      * @param imageType the image type
-     * @return the ImageIcon object
+     * @return the resource URL
      */
-    public static ImageIcon createImage(ImageType imageType) {
-        ImageIcon imageIcon = null;
+    private static String getUrl(ImageType imageType) {
         switch (imageType) {
             case ALIEN:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(ALIEN_URL));
-                break;
+                return ALIEN_URL;
             case ALIEN_MISSILE:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(ALIEN_MISSILE_URL));
-                break;
+                return ALIEN_MISSILE_URL;
             case MOTHERSHIP:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(MOTHERSHIP_URL));
-                break;
+                return MOTHERSHIP_URL;
             case SPACESHIP:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(SPACESHIP_URL));
-                break;
+                return SPACESHIP_URL;
             case SPACESHIP_LASER:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(SPACESHIP_LASER_URL));
-                break;
+                return SPACESHIP_LASER_URL;
             case SKY:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(SKY_URL));
-                break;
+                return SKY_URL;
             case EXPLOSION:
-                imageIcon = new ImageIcon(ImageFactory.class.getClassLoader()
-                        .getResource(EXPLOSION_URL));
-                break;
+                return EXPLOSION_URL;
             default:
-                break;
+                throw new IllegalArgumentException("Unknown image type: " + imageType);
         }
-        return imageIcon;
     }
 }
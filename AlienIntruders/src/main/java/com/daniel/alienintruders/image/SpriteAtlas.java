@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.image;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+/**
+ * A single image holding every sprite image pre-scaled to its drawing size. Sprites are drawn as unscaled copies of
+ * their region of the atlas, and a whole group of sprites of the same type can be drawn from a buffer of positions.
+ *
+ * @author Bryan Daniel
+ */
+public class SpriteAtlas {
+
+    /**
+     * The empty pixels between two regions, which keep filtering from bleeding across sprites
+     */
+    public static final int REGION_PADDING = 1;
+
+    /**
+     * The image holding all regions
+     */
+    private final BufferedImage atlasImage;
+
+    /**
+     * The x coordinates of the regions, indexed by image type ordinal
+     */
+    private final int[] regionX;
+
+    /**
+     * The widths of the regions, indexed by image type ordinal
+     */
+    private final int[] regionWidth;
+
+    /**
+     * The heights of the regions, indexed by image type ordinal
+     */
+    private final int[] regionHeight;
+
+    /**
+     * Builds the atlas from the shared images of ImageFactory, scaling each image to the given size.
+     *
+     * @param sizes the drawing size of each image type in the atlas
+     */
+    public SpriteAtlas(Map<ImageType, Dimension> sizes) {
+        int typeCount = ImageType.values().length;
+        regionX = new int[typeCount];
+        regionWidth = new int[typeCount];
+        regionHeight = new int[typeCount];
+        int atlasWidth = 0;
+        int atlasHeight = 1;
+        for (Map.Entry<ImageType, Dimension> entry : sizes.entrySet()) {
+            int ordinal = entry.getKey().ordinal();
+            regionX[ordinal] = atlasWidth;
+            regionWidth[ordinal] = entry.getValue().width;
+            regionHeight[ordinal] = entry.getValue().height;
+            atlasWidth += entry.getValue().width + REGION_PADDING;
+            atlasHeight = Math.max(atlasHeight, entry.getValue().height);
+        }
+        atlasImage = createAtlasImage(Math.max(1, atlasWidth), atlasHeight);
+        Graphics2D graphics = atlasImage.createGraphics();
+        for (ImageType imageType : sizes.keySet()) {
+            BufferedImage image = ImageFactory.getImage(imageType);
+            if (image != null) {
+                int ordinal = imageType.ordinal();
+                graphics.drawImage(scale(image, regionWidth[ordinal], regionHeight[ordinal]), regionX[ordinal], 0,
+                        null);
+            }
+        }
+        graphics.dispose();
+    }
+
+    /**
+     * Creates an empty translucent image in the format of the default screen.
+     *
+     * @param width the width
+     * @param height the height
+     * @return the image
+     */
+    private static BufferedImage createAtlasImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Scales the given image to the given size by halving it with bilinear filtering until it is less than twice the
+     * target size, which keeps large downscales from dropping detail.
+     *
+     * @param image the image
+     * @param width the target width
+     * @param height the target height
+     * @return the scaled image
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(scaled, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            scaled = step;
+        } while (currentWidth != width || currentHeight != height);
+        return scaled;
+    }
+
+    /**
+     * Draws one sprite.
+     *
+     * @param graphics the Graphics object
+     * @param imageType the image type of the sprite
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    public void draw(Graphics graphics, ImageType imageType, int x, int y) {
+        int ordinal = imageType.ordinal();
+        int sourceX = regionX[ordinal];
+        int width = regionWidth[ordinal];
+        int height = regionHeight[ordinal];
+        graphics.drawImage(atlasImage, x, y, x + width, y + height, sourceX, 0, sourceX + width, height, null);
+    }
+
+    /**
+     * Draws a sprite at each of the given positions.
+     *
+     * @param graphics the Graphics object
+     * @param imageType the image type of the sprites
+     * @param xs the x coordinates
+     * @param ys the y coordinates
+     * @param count the number of positions to draw
+     */
+    public void drawBatch(Graphics graphics, ImageType imageType, int[] xs, int[] ys, int count) {
+        int ordinal = imageType.ordinal();
+        int sourceX = regionX[ordinal];
+        int sourceRight = sourceX + regionWidth[ordinal];
+        int width = regionWidth[ordinal];
+        int height = regionHeight[ordinal];
+        for (int i = 0; i < count; i++) {
+            int x = xs[i];
+            int y = ys[i];
+            graphics.drawImage(atlasImage, x, y, x + width, y + height, sourceX, 0, sourceRight, height, null);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning the time from a request to play a sound until its line reports that playback has
+ * started.
+ *
+ * @author Bryan Daniel
+ */
+@Name(AudioPlaybackEvent.NAME)
+@Label("Audio Playback")
+@Category({"Alien Intruders", "Audio"})
+@Description("The latency from a play request until the audio line starts")
+@StackTrace(false)
+public class AudioPlaybackEvent extends Event {
+
+    /**
+     * The name of the event type
+     */
+    public static final String NAME = "com.daniel.alienintruders.AudioPlayback";
+
+    /**
+     * The name of the sound
+     */
+    @Label("Sound")
+    private final String sound;
+
+    /**
+     * Sets the value for the sound and starts timing the event.
+     *
+     * @param sound the name of the sound
+     */
+    public AudioPlaybackEvent(String sound) {
+        this.sound = sound;
+        begin();
+    }
+}
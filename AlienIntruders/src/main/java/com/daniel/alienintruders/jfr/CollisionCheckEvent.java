@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning one collision query of the game engine.
+ *
+ * @author Bryan Daniel
+ */
+@Name(CollisionCheckEvent.NAME)
+@Label("Collision Check")
+@Category({"Alien Intruders", "Game Loop"})
+@Description("A broadphase collision query and the narrow checks of its candidates")
+@StackTrace(false)
+public class CollisionCheckEvent extends Event {
+
+    /**
+     * The name of the event type
+     */
+    public static final String NAME = "com.daniel.alienintruders.CollisionCheck";
+
+    /**
+     * The check of the laser against the aliens
+     */
+    public static final String LASER_ALIENS = "laser-aliens";
+
+    /**
+     * The check of the spaceship against the missiles
+     */
+    public static final String SPACESHIP_MISSILES = "spaceship-missiles";
+
+    /**
+     * The check of the spaceship against the aliens
+     */
+    public static final String SPACESHIP_ALIENS = "spaceship-aliens";
+
+    /**
+     * The sprites being checked
+     */
+    @Label("Check")
+    private final String check;
+
+    /**
+     * The number of candidates returned by the broadphase
+     */
+    @Label("Candidates")
+    private int candidates;
+
+    /**
+     * Indicates whether or not the check found a collision
+     */
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Sets the value for the check.
+     *
+     * @param check the sprites being checked
+     */
+    public CollisionCheckEvent(String check) {
+        this.check = check;
+    }
+
+    /**
+     * Sets the value of candidates.
+     *
+     * @param candidates the number of candidates returned by the broadphase
+     */
+    public void setCandidates(int candidates) {
+        this.candidates = candidates;
+    }
+
+    /**
+     * Sets the value of hit.
+     *
+     * @param hit true if the check found a collision, false otherwise
+     */
+    public void setHit(boolean hit) {
+        this.hit = hit;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event spanning one database access, from opening the connection to reading the last row.
+ *
+ * @author Bryan Daniel
+ */
+@Name(DataAccessEvent.NAME)
+@Label("Data Access")
+@Category({"Alien Intruders", "Persistence"})
+@Description("A statement executed by a data access class")
+public class DataAccessEvent extends Event {
+
+    /**
+     * The name of the event type
+     */
+    public static final String NAME = "com.daniel.alienintruders.DataAccess";
+
+    /**
+     * The data access method
+     */
+    @Label("Operation")
+    private final String operation;
+
+    /**
+     * The SQL of the statement
+     */
+    @Label("SQL")
+    private final String sql;
+
+    /**
+     * The number of rows read or changed
+     */
+    @Label("Rows")
+    private int rows;
+
+    /**
+     * Indicates whether or not the statement completed without an exception
+     */
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Sets the values for the operation and SQL and starts timing the event.
+     *
+     * @param operation the data access method
+     * @param sql the SQL of the statement
+     */
+    public DataAccessEvent(String operation, String sql) {
+        this.operation = operation;
+        this.sql = sql;
+        begin();
+    }
+
+    /**
+     * Sets the value of rows.
+     *
+     * @param rows the number of rows read or changed
+     */
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Sets the value of succeeded.
+     *
+     * @param succeeded true if the statement completed without an exception, false otherwise
+     */
+    public void setSucceeded(boolean succeeded) {
+        this.succeeded = succeeded;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event marking the start of an explosion animation.
+ *
+ * @author Bryan Daniel
+ */
+@Name(ExplosionEvent.NAME)
+@Label("Explosion")
+@Category({"Alien Intruders", "Rendering"})
+@Description("An explosion added to the game panel")
+@StackTrace(false)
+public class ExplosionEvent extends Event {
+
+    /**
+     * The name of the event type
+     */
+    public static final String NAME = "com.daniel.alienintruders.Explosion";
+
+    /**
+     * The x coordinate of the exploding sprite
+     */
+    @Label("X")
+    private final int x;
+
+    /**
+     * The y coordinate of the exploding sprite
+     */
+    @Label("Y")
+    private final int y;
+
+    /**
+     * The simulation tick on which the explosion started
+     */
+    @Label("Start Tick")
+    private final long startTick;
+
+    /**
+     * The number of explosions in progress including this one
+     */
+    @Label("Explosions In Progress")
+    private final int explosionsInProgress;
+
+    /**
+     * Sets the values of the event.
+     *
+     * @param x the x coordinate of the exploding sprite
+     * @param y the y coordinate of the exploding sprite
+     * @param startTick the simulation tick on which the explosion started
+     * @param explosionsInProgress the number of explosions in progress including this one
+     */
+    public ExplosionEvent(int x, int y, long startTick, int explosionsInProgress) {
+        this.x = x;
+        this.y = y;
+        this.startTick = startTick;
+        this.explosionsInProgress = explosionsInProgress;
+    }
+}
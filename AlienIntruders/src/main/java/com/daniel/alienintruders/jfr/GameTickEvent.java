@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning one simulation tick of the game loop, including the capture of its snapshot.
+ *
+ * @author Bryan Daniel
+ */
+@Name(GameTickEvent.NAME)
+@Label("Game Tick")
+@Category({"Alien Intruders", "Game Loop"})
+@Description("One simulation tick of the game loop")
+@StackTrace(false)
+public class GameTickEvent extends Event {
+
+    /**
+     * The name of the event type
+     */
+    public static final String NAME = "com.daniel.alienintruders.GameTick";
+
+    /**
+     * The number of the tick
+     */
+    @Label("Tick")
+    private long tick;
+
+    /**
+     * The number of living aliens after the tick
+     */
+    @Label("Living Aliens")
+    private int livingAliens;
+
+    /**
+     * The number of missiles in flight after the tick
+     */
+    @Label("Active Missiles")
+    private int activeMissiles;
+
+    /**
+     * The heap memory allocated by the tick
+     */
+    @Label("Allocated")
+    @DataAmount
+    private long allocated;
+
+    /**
+     * Sets the value of tick.
+     *
+     * @param tick the number of the tick
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Sets the value of livingAliens.
+     *
+     * @param livingAliens the number of living aliens after the tick
+     */
+    public void setLivingAliens(int livingAliens) {
+        this.livingAliens = livingAliens;
+    }
+
+    /**
+     * Sets the value of activeMissiles.
+     *
+     * @param activeMissiles the number of missiles in flight after the tick
+     */
+    public void setActiveMissiles(int activeMissiles) {
+        this.activeMissiles = activeMissiles;
+    }
+
+    /**
+     * Sets the value of allocated.
+     *
+     * @param allocated the bytes allocated by the tick
+     */
+    public void setAllocated(long allocated) {
+        this.allocated = allocated;
+    }
+}
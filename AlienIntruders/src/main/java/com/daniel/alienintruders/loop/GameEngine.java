@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.collision.SpatialHashGrid;
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.jfr.CollisionCheckEvent;
+import com.daniel.alienintruders.sprite.AlienMissile;
+import com.daniel.alienintruders.sprite.AlienSwarm;
+import com.daniel.alienintruders.sprite.Laser;
+import com.daniel.alienintruders.sprite.Spaceship;
+import jdk.jfr.EventType;
+
+/**
+ * Advances the game state by one tick. The engine has no dependency on images, sounds or Swing and reports
+ * everything that needs presenting to its GameEventListener, so it can also run headless.
+ *
+ * @author Bryan Daniel
+ */
+public class GameEngine {
+
+    /**
+     * The Flight Recorder type of the collision check events, checked so that no event is allocated while the type
+     * is not recorded
+     */
+    private static final EventType COLLISION_CHECK_TYPE = EventType.getEventType(CollisionCheckEvent.class);
+
+    /**
+     * The game context
+     */
+    private final GameContext gameContext;
+
+    /**
+     * The listener for game events
+     */
+    private final GameEventListener listener;
+
+    /**
+     * The broadphase grid holding the living aliens
+     */
+    private final SpatialHashGrid alienGrid;
+
+    /**
+     * The broadphase grid holding the flying missiles
+     */
+    private final SpatialHashGrid missileGrid;
+
+    /**
+     * The buffer receiving collision query results, kept at least as long as the number of sprites in either grid so
+     * that no result is dropped
+     */
+    private int[] collisionResults;
+
+    /**
+     * Indicates whether or not the sprites have been registered in the grids
+     */
+    private boolean spritesRegistered = false;
+
+    /**
+     * Indicates whether or not the defeat of the player has been reported
+     */
+    private boolean defeatReported = false;
+
+    /**
+     * Indicates whether or not the cleared wave has been reported
+     */
+    private boolean victoryReported = false;
+
+    /**
+     * Indicates whether or not the victory animation is playing
+     */
+    private volatile boolean playingVictoryAnimation = false;
+
+    /**
+     * Sets the values for the game context and the event listener. The collision grids are sized for the swarm when
+     * the context is already initialized, so the first ticks do not grow them.
+     *
+     * @param gameContext the game context
+     * @param listener the listener for game events
+     */
+    public GameEngine(GameContext gameContext, GameEventListener listener) {
+        this.gameContext = gameContext;
+        this.listener = listener;
+        int capacity = gameContext != null && gameContext.isGameInitialized()
+                ? gameContext.getAlienSwarm().getCount() : SpatialHashGrid.DEFAULT_CAPACITY;
+        alienGrid = new SpatialHashGrid(capacity);
+        missileGrid = new SpatialHashGrid(capacity);
+        collisionResults = new int[capacity];
+    }
+
+    /**
+     * Performs updates to game objects.
+     */
+    public void update() {
+        if (gameContext != null && gameContext.isGameInitialized()) {
+            AlienSwarm alienSwarm = gameContext.getAlienSwarm();
+            if (!spritesRegistered) {
+                registerSprites(alienSwarm);
+            }
+            Spaceship spaceship = gameContext.getSpaceship();
+            if (spaceship.applyInput()) {
+                listener.laserFired();
+            }
+            if (spaceship.isDead() && !defeatReported) {
+                defeatReported = true;
+                listener.playerDefeated();
+            } else {
+                spaceship.move();
+            }
+            Laser laser = spaceship.getLaser();
+            if (laser != null && !laser.isDead()) {
+                laser.move();
+                if (!laser.isDead()) {
+                    CollisionCheckEvent checkEvent = beginCollisionCheck(CollisionCheckEvent.LASER_ALIENS);
+                    int found = alienGrid.query(laser, collisionResults);
+                    int alienIndex = findFirstLivingAlien(alienSwarm, found);
+                    commitCollisionCheck(checkEvent, found, alienIndex >= 0);
+                    if (alienIndex >= 0) {
+                        alienSwarm.kill(alienIndex);
+                        laser.setDead(true);
+                        listener.alienDestroyed(alienIndex);
+                        int alienPoints = alienSwarm.getPoints(alienIndex);
+                        int currentScore = gameContext.getPlayerState().getScore();
+                        gameContext.getPlayerState().setScore(currentScore + alienPoints);
+                    }
+                }
+            }
+
+            boolean kamikaziMode = !alienSwarm.isKamikaziMode();
+            boolean allAliensDead = alienSwarm.getLivingCount() == 0;
+            boolean noMissilesFlying = true;
+            alienSwarm.move();
+            for (int i = 0; i < alienSwarm.getCount(); i++) {
+                if (alienSwarm.isAlive(i)) {
+                    alienSwarm.fireMissile(i);
+                }
+                AlienMissile firedMissile = alienSwarm.getFiredMissile(i);
+                if (firedMissile != null) {
+                    firedMissile.move();
+                    if (firedMissile.isDead()) {
+                        alienSwarm.releaseMissile(i);
+                    } else {
+                        noMissilesFlying = false;
+                    }
+                }
+                if (alienSwarm.isArmed(i)) {
+                    kamikaziMode = false;
+                }
+            }
+            if (kamikaziMode) {
+                alienSwarm.setKamikaziMode(true);
+            }
+            registerSprites(alienSwarm);
+
+            if (!spaceship.isDead()) {
+                CollisionCheckEvent checkEvent = beginCollisionCheck(CollisionCheckEvent.SPACESHIP_MISSILES);
+                int found = missileGrid.query(spaceship, collisionResults);
+                for (int i = 0; i < found; i++) {
+                    AlienMissile firedMissile = alienSwarm.getFiredMissile(collisionResults[i]);
+                    if (firedMissile != null && !firedMissile.isDead()) {
+                        spaceship.setDead(true);
+                        alienSwarm.releaseMissile(collisionResults[i]);
+                        listener.spaceshipDestroyed();
+                        break;
+                    }
+                }
+                commitCollisionCheck(checkEvent, found, spaceship.isDead());
+            }
+            if (!spaceship.isDead()) {
+                CollisionCheckEvent checkEvent = beginCollisionCheck(CollisionCheckEvent.SPACESHIP_ALIENS);
+                int found = alienGrid.query(spaceship, collisionResults);
+                int alienIndex = findFirstLivingAlien(alienSwarm, found);
+                commitCollisionCheck(checkEvent, found, alienIndex >= 0);
+                if (alienIndex >= 0) {
+                    spaceship.setDead(true);
+                    alienSwarm.kill(alienIndex);
+                    listener.spaceshipDestroyed();
+                }
+            }
+            if (allAliensDead && !spaceship.isDead() && noMissilesFlying && !victoryReported) {
+                victoryReported = true;
+                listener.waveCleared();
+            }
+            if (playingVictoryAnimation) {
+                updateVictoryAnimation();
+            }
+        }
+    }
+
+    /**
+     * Registers the living aliens and the flying missiles in the collision grids and grows the result buffer to hold
+     * every registered sprite. Missiles are registered under the index of the alien that fired them.
+     *
+     * @param alienSwarm the alien swarm
+     */
+    private void registerSprites(AlienSwarm alienSwarm) {
+        alienGrid.clear();
+        missileGrid.clear();
+        for (int i = alienSwarm.nextAlive(0); i >= 0; i = alienSwarm.nextAlive(i + 1)) {
+            alienGrid.insert(i, alienSwarm.getX(i), alienSwarm.getY(i), AlienSwarm.ALIEN_WIDTH,
+                    AlienSwarm.ALIEN_HEIGHT);
+        }
+        for (int i = 0; i < alienSwarm.getCount(); i++) {
+            AlienMissile firedMissile = alienSwarm.getFiredMissile(i);
+            if (firedMissile != null && !firedMissile.isDead()) {
+                missileGrid.insert(i, firedMissile);
+            }
+        }
+        int registered = Math.max(alienGrid.getItemCount(), missileGrid.getItemCount());
+        if (collisionResults.length < registered) {
+            collisionResults = new int[Math.max(registered, collisionResults.length * 2)];
+        }
+        spritesRegistered = true;
+    }
+
+    /**
+     * Returns the living alien with the lowest index among the collision results, so hits resolve in the same order
+     * as a scan of the swarm.
+     *
+     * @param alienSwarm the alien swarm
+     * @param found the number of collision results
+     * @return the index of the alien or -1 if none of the results is alive
+     */
+    private int findFirstLivingAlien(AlienSwarm alienSwarm, int found) {
+        int firstIndex = -1;
+        for (int i = 0; i < found; i++) {
+            int index = collisionResults[i];
+            if ((firstIndex < 0 || index < firstIndex) && alienSwarm.isAlive(index)) {
+                firstIndex = index;
+            }
+        }
+        return firstIndex;
+    }
+
+    /**
+     * Begins a collision check event if the event type is recorded.
+     *
+     * @param check the sprites being checked
+     * @return the event or null if the event type is not recorded
+     */
+    private static CollisionCheckEvent beginCollisionCheck(String check) {
+        if (!COLLISION_CHECK_TYPE.isEnabled()) {
+            return null;
+        }
+        CollisionCheckEvent checkEvent = new CollisionCheckEvent(check);
+        checkEvent.begin();
+        return checkEvent;
+    }
+
+    /**
+     * Ends the given collision check event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param checkEvent the event or null if the event type is not recorded
+     * @param candidates the number of candidates returned by the broadphase
+     * @param hit true if the check found a collision, false otherwise
+     */
+    private static void commitCollisionCheck(CollisionCheckEvent checkEvent, int candidates, boolean hit) {
+        if (checkEvent == null) {
+            return;
+        }
+        checkEvent.end();
+        if (checkEvent.shouldCommit()) {
+            checkEvent.setCandidates(candidates);
+            checkEvent.setHit(hit);
+            checkEvent.commit();
+        }
+    }
+
+    /**
+     * Moves the spaceship forward for final victory.
+     */
+    private void updateVictoryAnimation() {
+        Spaceship spaceship = gameContext.getSpaceship();
+        spaceship.setY(spaceship.getY() - 1);
+        if (spaceship.getY() < 0 - Spaceship.SPACESHIP_HEIGHT) {
+            playingVictoryAnimation = false;
+            listener.victoryAnimationFinished();
+        }
+    }
+
+    /**
+     * Starts moving the spaceship off the screen after the final wave.
+     */
+    public void startVictoryAnimation() {
+        playingVictoryAnimation = true;
+    }
+
+    /**
+     * Indicates whether or not the game is over for this context.
+     *
+     * @return true if the player was defeated or the wave was cleared, false otherwise
+     */
+    public boolean isGameOver() {
+        return defeatReported || victoryReported;
+    }
+}
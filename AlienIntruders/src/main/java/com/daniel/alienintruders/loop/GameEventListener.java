@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+/**
+ * Receives the events raised by the game engine. Implementations decide how the events are presented, so the
+ * simulation itself never touches audio or Swing.
+ *
+ * @author Bryan Daniel
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when the spaceship fires a laser.
+     */
+    default void laserFired() {
+    }
+
+    /**
+     * Called when the laser destroys an alien.
+     *
+     * @param alienIndex the index of the destroyed alien in the swarm
+     */
+    default void alienDestroyed(int alienIndex) {
+    }
+
+    /**
+     * Called when the spaceship is destroyed by a missile or an alien.
+     */
+    default void spaceshipDestroyed() {
+    }
+
+    /**
+     * Called once on the tick following the destruction of the spaceship.
+     */
+    default void playerDefeated() {
+    }
+
+    /**
+     * Called once when every alien is dead and no missiles are flying.
+     */
+    default void waveCleared() {
+    }
+
+    /**
+     * Called when the spaceship has left the screen at the end of the victory animation.
+     */
+    default void victoryAnimationFinished() {
+    }
+}
@@ -16,23 +16,47 @@
 package com.daniel.alienintruders.loop;
 
 import com.daniel.alienintruders.context.GameContext;
-import com.daniel.alienintruders.sprite.Alien;
-import com.daniel.alienintruders.sprite.AlienMissile;
-import com.daniel.alienintruders.sprite.Laser;
-import com.daniel.alienintruders.sprite.Spaceship;
+import com.daniel.alienintruders.jfr.GameTickEvent;
+import com.daniel.alienintruders.metrics.GameMetrics;
 import com.daniel.alienintruders.view.GamePanel;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import jdk.jfr.EventType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * The ActionListener implementation for the game loop.
+ * The game loop running on its own thread. The simulation advances in fixed steps of one tick while the panel is
+ * repainted at the display rate from the latest snapshot, so stalls on the event dispatch thread no longer
+ * slow down the game.
  *
  * @author Bryan Daniel
  */
-public class GameLoop implements ActionListener {
+public class GameLoop implements Runnable {
+
+    /**
+     * The default number of simulation ticks per second, matching the original loop delay
+     */
+    public static final int DEFAULT_TICK_RATE = 1000 / GameContext.TICK_DURATION;
+
+    /**
+     * The frame rate used when the display refresh rate cannot be determined
+     */
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    /**
+     * The maximum number of ticks simulated before a frame is rendered. Time beyond this is dropped so that the loop
+     * cannot fall into a spiral of catching up.
+     */
+    public static final int MAX_TICKS_PER_FRAME = 5;
+
+    /**
+     * The Flight Recorder type of the tick events, checked so that no event is allocated while the type is not
+     * recorded
+     */
+    private static final EventType GAME_TICK_TYPE = EventType.getEventType(GameTickEvent.class);
 
     /**
      * The game panel
@@ -44,128 +68,266 @@ public class GameLoop implements ActionListener {
      */
     private final GameContext gameContext;
 
+    /**
+     * The engine advancing the game state
+     */
+    private final GameEngine gameEngine;
+
+    /**
+     * The duration of a simulation tick in nanoseconds
+     */
+    private final long tickDuration;
+
+    /**
+     * The duration of a rendered frame in nanoseconds
+     */
+    private final long frameDuration;
+
+    /**
+     * The thread running this loop
+     */
+    private Thread loopThread;
+
+    /**
+     * Indicates whether or not this loop is running
+     */
+    private volatile boolean running = false;
+
+    /**
+     * The snapshots of the game state shared with the drawing thread
+     */
+    private final GameSnapshotBuffer snapshotBuffer = new GameSnapshotBuffer();
+
+    /**
+     * The number of ticks simulated
+     */
+    private long tickCount = 0;
+
+    /**
+     * The tick rate measured over the last second
+     */
+    private volatile double measuredTickRate;
+
+    /**
+     * The performance metrics of this loop
+     */
+    private final GameMetrics metrics;
+
     /**
      * The logger for this class
      */
     private final Logger logger;
 
     /**
-     * Sets the value for the game panel.
+     * Sets the value for the game panel and uses the default tick rate.
      *
      * @param gamePanel the game panel
      * @param gameContext the game context
      */
     public GameLoop(GamePanel gamePanel, GameContext gameContext) {
+        this(gamePanel, gameContext, DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * Sets the value for the game panel and the simulation tick rate.
+     *
+     * @param gamePanel the game panel
+     * @param gameContext the game context
+     * @param tickRate the number of simulation ticks per second
+     */
+    public GameLoop(GamePanel gamePanel, GameContext gameContext, int tickRate) {
         this.gamePanel = gamePanel;
         this.gameContext = gameContext;
+        gameEngine = new GameEngine(gameContext, gamePanel);
+        tickDuration = TimeUnit.SECONDS.toNanos(1) / tickRate;
+        frameDuration = TimeUnit.SECONDS.toNanos(1) / determineFrameRate();
+        metrics = new GameMetrics();
         logger = LogManager.getLogger(GameLoop.class);
     }
 
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        doLoop();
+    /**
+     * Determines the refresh rate of the default screen.
+     *
+     * @return the number of frames to render per second
+     */
+    private static int determineFrameRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_FRAME_RATE;
+        }
+        int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDisplayMode().getRefreshRate();
+        return refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_FRAME_RATE : refreshRate;
     }
 
     /**
-     * Executes updates and repaints the panel.
+     * Starts the loop thread.
      */
-    public void doLoop() {
-        update();
-        gamePanel.repaint();
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            loopThread = new Thread(this, "game-loop");
+            loopThread.setDaemon(true);
+            loopThread.start();
+        }
     }
 
     /**
-     * Performs updates to game objects.
+     * Stops the loop thread.
      */
-    private void update() {
-        if (gameContext != null && gameContext.isGameInitialized()) {
-            Spaceship spaceship = gameContext.getSpaceship();
-            if (spaceship.isDead() && !gamePanel.isOptionShowing()) {
-                gamePanel.setOptionShowing(true);
-                gamePanel.showOptionDialog(GamePanel.DEAD_DIALOG_MESSAGE, GamePanel.DEAD_DIALOG_TITLE);
-            } else {
-                spaceship.move();
-            }
-            Laser laser = spaceship.getLaser();
-            if (laser != null) {
-                laser.move();
-                for (Alien alien : gameContext.getAlienList()) {
-                    if (!alien.isDead() && !laser.isDead() && alien.isColliding(laser)) {
-                        alien.setDead(true);
-                        laser.setDead(true);
-                        gameContext.getLivingAliens().put(alien, Boolean.FALSE);
-                        new Thread(() -> {
-                            gameContext.getExplosionAudioPlayer().playSound();
-                        }).start();
-                        int alienPoints = alien.getPoints();
-                        int currentScore = gameContext.getPlayerState().getScore();
-                        gameContext.getPlayerState().setScore(currentScore + alienPoints);
-                        break;
-                    }
-                }
-            }
+    public synchronized void stop() {
+        running = false;
+        if (loopThread != null) {
+            LockSupport.unpark(loopThread);
+            loopThread = null;
+            logger.info("Game loop stopped - " + metrics);
+        }
+    }
 
-            boolean kamikaziMode = true;
-            boolean allAliensDead = true;
-            boolean noMissilesFlying = true;
-            for (Alien alien : gameContext.getAlienList()) {
-                alien.move();
-                if (!alien.isDead()) {
-                    alien.fireMissile();
-                    allAliensDead = false;
-                }
-                AlienMissile firedMissile = alien.getFiredMissile();
-                if (firedMissile != null) {
-                    firedMissile.move();
-                    if (!spaceship.isDead() && !firedMissile.isDead() && spaceship.isColliding(firedMissile)) {
-                        spaceship.setDead(true);
-                        spaceship.setExplode(true);
-                        firedMissile.setDead(true);
-                        new Thread(() -> {
-                            gameContext.getExplosionAudioPlayer().playSound();
-                            try {
-                                TimeUnit.SECONDS.sleep(1);
-                            } catch (InterruptedException ex) {
-                                Thread.currentThread().interrupt();
-                            }
-                            gameContext.getBackgroundAudioPlayer().stopSound();
-                            gameContext.getBackgroundAudioPlayer().close();
-                            gameContext.getGameLostAudioPlayer().playSound();
-                        }).start();
-                    }
-                    if (!firedMissile.isDead()) {
-                        noMissilesFlying = false;
-                    }
+    /**
+     * Indicates whether or not the loop is running.
+     *
+     * @return true if running, false otherwise
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long nextFrameTime = previousTime;
+        long rateWindowStart = previousTime;
+        long rateWindowTicks = 0;
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previousTime;
+            previousTime = now;
+
+            int ticks = 0;
+            while (accumulator >= tickDuration && ticks < MAX_TICKS_PER_FRAME) {
+                GameTickEvent tickEvent = beginTickEvent();
+                long allocatedBefore = metrics.getCurrentThreadAllocatedBytes();
+                long updateStart = System.nanoTime();
+                try {
+                    gameEngine.update();
+                } catch (RuntimeException ex) {
+                    logger.error("RuntimeException occurred in the game loop.", ex);
                 }
-                if (alien.isArmed() || alien.isKamikaziMode()) {
-                    kamikaziMode = false;
+                long updateTime = System.nanoTime() - updateStart;
+                if (gameContext.isGameInitialized()) {
+                    snapshotBuffer.publish(gameContext, ++tickCount);
                 }
+                long allocated = allocatedBefore < 0 ? -1
+                        : metrics.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                metrics.recordTick(updateTime, allocated);
+                commitTickEvent(tickEvent, allocated);
+                accumulator -= tickDuration;
+                ticks++;
             }
-            for (Alien alien : gameContext.getAlienList()) {
-                if (kamikaziMode) {
-                    alien.setKamikaziMode(true);
-                }
-                if (!spaceship.isDead() && !alien.isDead() && alien.isColliding(spaceship)) {
-                    spaceship.setDead(true);
-                    spaceship.setExplode(true);
-                    alien.setDead(true);
-                    new Thread(() -> {
-                        gameContext.getExplosionAudioPlayer().playSound();
-                        try {
-                            TimeUnit.SECONDS.sleep(1);
-                        } catch (InterruptedException ex) {
-                            Thread.currentThread().interrupt();
-                        }
-                        gameContext.getBackgroundAudioPlayer().stopSound();
-                        gameContext.getBackgroundAudioPlayer().close();
-                        gameContext.getGameLostAudioPlayer().playSound();
-                    }).start();
-                }
+            if (ticks == MAX_TICKS_PER_FRAME) {
+                accumulator %= tickDuration;
+            }
+            rateWindowTicks += ticks;
+            if (now - rateWindowStart >= TimeUnit.SECONDS.toNanos(1)) {
+                measuredTickRate = rateWindowTicks * (double) TimeUnit.SECONDS.toNanos(1) / (now - rateWindowStart);
+                rateWindowStart = now;
+                rateWindowTicks = 0;
+            }
+
+            if (now >= nextFrameTime) {
+                gamePanel.presentFrame();
+                nextFrameTime = now + frameDuration;
             }
-            if (allAliensDead && !spaceship.isDead() && noMissilesFlying && !gamePanel.isVictoryShowing()) {
-                gamePanel.setVictoryShowing(true);
-                gamePanel.showVictory();
+
+            long nextTickTime = now + tickDuration - accumulator;
+            long sleepTime = Math.min(nextTickTime, nextFrameTime) - System.nanoTime();
+            if (sleepTime > 0) {
+                LockSupport.parkNanos(this, sleepTime);
             }
         }
     }
+
+    /**
+     * Begins a tick event if the event type is recorded.
+     *
+     * @return the event or null if the event type is not recorded
+     */
+    private static GameTickEvent beginTickEvent() {
+        if (!GAME_TICK_TYPE.isEnabled()) {
+            return null;
+        }
+        GameTickEvent tickEvent = new GameTickEvent();
+        tickEvent.begin();
+        return tickEvent;
+    }
+
+    /**
+     * Ends the given tick event and commits it with the latest snapshot if it exceeds its threshold.
+     *
+     * @param tickEvent the event or null if the event type is not recorded
+     * @param allocated the bytes allocated by the tick or a negative value if unknown
+     */
+    private void commitTickEvent(GameTickEvent tickEvent, long allocated) {
+        if (tickEvent == null) {
+            return;
+        }
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            GameSnapshot tickSnapshot = snapshotBuffer.getLatest();
+            tickEvent.setTick(tickCount);
+            tickEvent.setAllocated(allocated);
+            if (tickSnapshot != null) {
+                tickEvent.setLivingAliens(tickSnapshot.getLivingAlienCount());
+                tickEvent.setActiveMissiles(tickSnapshot.getActiveMissileCount());
+            }
+            tickEvent.commit();
+        }
+    }
+
+    /**
+     * Gets the value of gameEngine.
+     *
+     * @return the game engine
+     */
+    public GameEngine getGameEngine() {
+        return gameEngine;
+    }
+
+    /**
+     * Takes the latest snapshot for drawing. The snapshot stays unchanged until the next call, so only one thread at
+     * a time may draw from it.
+     *
+     * @return the latest snapshot or null if no tick has completed
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshotBuffer.acquire();
+    }
+
+    /**
+     * Gets the value of tickDuration.
+     *
+     * @return the duration of a simulation tick in nanoseconds
+     */
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Gets the value of measuredTickRate.
+     *
+     * @return the number of ticks simulated during the last second
+     */
+    public double getMeasuredTickRate() {
+        return measuredTickRate;
+    }
+
+    /**
+     * Gets the value of metrics.
+     *
+     * @return the performance metrics of this loop
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
 }
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.sprite.AlienMissile;
+import com.daniel.alienintruders.sprite.AlienSwarm;
+import com.daniel.alienintruders.sprite.Laser;
+import com.daniel.alienintruders.sprite.Spaceship;
+
+/**
+ * A copy of the game state captured at the end of a simulation tick. The game loop publishes a snapshot after every
+ * tick so the panel can paint without reading the live game objects. Snapshots are preallocated and recycled by a
+ * GameSnapshotBuffer, so a snapshot must only be read by the thread that currently owns it.
+ *
+ * @author Bryan Daniel
+ */
+public final class GameSnapshot {
+
+    /**
+     * The largest distance in pixels that is interpolated between two snapshots. Larger jumps indicate a respawned
+     * sprite, which is drawn at its current position instead.
+     */
+    public static final int MAX_INTERPOLATION_DISTANCE = 50;
+
+    /**
+     * The number of the tick that produced this snapshot
+     */
+    private long tick;
+
+    /**
+     * The value of System.nanoTime() when this snapshot was captured
+     */
+    private long capturedNanos;
+
+    /**
+     * Indicates whether or not the game was running
+     */
+    private boolean gameRunning;
+
+    /**
+     * The spaceship x coordinate
+     */
+    private int spaceshipX;
+
+    /**
+     * The spaceship y coordinate
+     */
+    private int spaceshipY;
+
+    /**
+     * The spaceship x coordinate of the previous snapshot
+     */
+    private int previousSpaceshipX;
+
+    /**
+     * The spaceship y coordinate of the previous snapshot
+     */
+    private int previousSpaceshipY;
+
+    /**
+     * Indicates whether or not the spaceship is alive
+     */
+    private boolean spaceshipAlive;
+
+    /**
+     * The laser x coordinate
+     */
+    private int laserX;
+
+    /**
+     * The laser y coordinate
+     */
+    private int laserY;
+
+    /**
+     * The laser y coordinate of the previous snapshot
+     */
+    private int previousLaserY;
+
+    /**
+     * Indicates whether or not a laser is in flight
+     */
+    private boolean laserActive;
+
+    /**
+     * The alien x coordinates
+     */
+    private int[] alienX = new int[0];
+
+    /**
+     * The alien y coordinates
+     */
+    private int[] alienY = new int[0];
+
+    /**
+     * The alien x coordinates of the previous snapshot
+     */
+    private int[] previousAlienX = new int[0];
+
+    /**
+     * The alien y coordinates of the previous snapshot
+     */
+    private int[] previousAlienY = new int[0];
+
+    /**
+     * The living state of each alien
+     */
+    private boolean[] alienAlive = new boolean[0];
+
+    /**
+     * The missile x coordinates, indexed by the firing alien
+     */
+    private int[] missileX = new int[0];
+
+    /**
+     * The missile y coordinates, indexed by the firing alien
+     */
+    private int[] missileY = new int[0];
+
+    /**
+     * The missile x coordinates of the previous snapshot
+     */
+    private int[] previousMissileX = new int[0];
+
+    /**
+     * The missile y coordinates of the previous snapshot
+     */
+    private int[] previousMissileY = new int[0];
+
+    /**
+     * The flight state of each missile
+     */
+    private boolean[] missileActive = new boolean[0];
+
+    /**
+     * The flight state of each missile in the previous snapshot
+     */
+    private boolean[] previousMissileActive = new boolean[0];
+
+    /**
+     * The number of aliens
+     */
+    private int alienCount;
+
+    /**
+     * The number of living aliens
+     */
+    private int livingAlienCount;
+
+    /**
+     * The number of missiles in flight
+     */
+    private int activeMissileCount;
+
+    /**
+     * Creates an empty snapshot whose arrays are sized by the first capture.
+     */
+    GameSnapshot() {
+    }
+
+    /**
+     * Overwrites this snapshot with the current state of the given game context. The arrays are only reallocated
+     * when the number of aliens grows, so capturing does not allocate in steady state.
+     *
+     * @param gameContext the game context
+     * @param previous the previously captured snapshot or null if none exists
+     * @param tick the number of the tick that produced this snapshot
+     */
+    void capture(GameContext gameContext, GameSnapshot previous, long tick) {
+        this.tick = tick;
+        capturedNanos = System.nanoTime();
+        gameRunning = gameContext.isGameRunning();
+
+        Spaceship spaceship = gameContext.getSpaceship();
+        spaceshipX = spaceship.getX();
+        spaceshipY = spaceship.getY();
+        spaceshipAlive = !spaceship.isDead();
+        Laser laser = spaceship.getLaser();
+        laserActive = laser != null && !laser.isDead();
+        laserX = laserActive ? laser.getX() : 0;
+        laserY = laserActive ? laser.getY() : 0;
+
+        AlienSwarm alienSwarm = gameContext.getAlienSwarm();
+        alienCount = alienSwarm.getCount();
+        ensureCapacity(alienCount);
+        int activeMissiles = 0;
+        for (int i = 0; i < alienCount; i++) {
+            alienX[i] = alienSwarm.getX(i);
+            alienY[i] = alienSwarm.getY(i);
+            alienAlive[i] = alienSwarm.isAlive(i);
+            AlienMissile firedMissile = alienSwarm.getFiredMissile(i);
+            if (firedMissile != null && !firedMissile.isDead()) {
+                missileX[i] = firedMissile.getX();
+                missileY[i] = firedMissile.getY();
+                missileActive[i] = true;
+                activeMissiles++;
+            } else {
+                missileX[i] = 0;
+                missileY[i] = 0;
+                missileActive[i] = false;
+            }
+        }
+        livingAlienCount = alienSwarm.getLivingCount();
+        activeMissileCount = activeMissiles;
+
+        if (previous != null && previous.alienCount == alienCount) {
+            previousSpaceshipX = previous.spaceshipX;
+            previousSpaceshipY = previous.spaceshipY;
+            previousLaserY = previous.laserActive && previous.laserX == laserX ? previous.laserY : laserY;
+            System.arraycopy(previous.alienX, 0, previousAlienX, 0, alienCount);
+            System.arraycopy(previous.alienY, 0, previousAlienY, 0, alienCount);
+            System.arraycopy(previous.missileX, 0, previousMissileX, 0, alienCount);
+            System.arraycopy(previous.missileY, 0, previousMissileY, 0, alienCount);
+            System.arraycopy(previous.missileActive, 0, previousMissileActive, 0, alienCount);
+        } else {
+            previousSpaceshipX = spaceshipX;
+            previousSpaceshipY = spaceshipY;
+            previousLaserY = laserY;
+            System.arraycopy(alienX, 0, previousAlienX, 0, alienCount);
+            System.arraycopy(alienY, 0, previousAlienY, 0, alienCount);
+            System.arraycopy(missileX, 0, previousMissileX, 0, alienCount);
+            System.arraycopy(missileY, 0, previousMissileY, 0, alienCount);
+            System.arraycopy(missileActive, 0, previousMissileActive, 0, alienCount);
+        }
+    }
+
+    /**
+     * Grows the arrays to hold at least the given number of aliens.
+     *
+     * @param capacity the number of aliens
+     */
+    private void ensureCapacity(int capacity) {
+        if (alienX.length < capacity) {
+            alienX = new int[capacity];
+            alienY = new int[capacity];
+            previousAlienX = new int[capacity];
+            previousAlienY = new int[capacity];
+            alienAlive = new boolean[capacity];
+            missileX = new int[capacity];
+            missileY = new int[capacity];
+            previousMissileX = new int[capacity];
+            previousMissileY = new int[capacity];
+            missileActive = new boolean[capacity];
+            previousMissileActive = new boolean[capacity];
+        }
+    }
+
+    /**
+     * Returns the position between the previous and current values for the given interpolation factor.
+     *
+     * @param previousValue the value in the previous snapshot
+     * @param currentValue the value in this snapshot
+     * @param alpha the interpolation factor between 0 and 1
+     * @return the interpolated value
+     */
+    private static int interpolate(int previousValue, int currentValue, float alpha) {
+        if (Math.abs(currentValue - previousValue) > MAX_INTERPOLATION_DISTANCE) {
+            return currentValue;
+        }
+        return previousValue + Math.round((currentValue - previousValue) * alpha);
+    }
+
+    /**
+     * Returns the interpolation factor for rendering this snapshot at the given time. The renderer stays one tick
+     * behind the simulation so that it always blends two known states.
+     *
+     * @param nowNanos the current value of System.nanoTime()
+     * @param tickDurationNanos the duration of a simulation tick in nanoseconds
+     * @return the interpolation factor between 0 and 1
+     */
+    public float getAlpha(long nowNanos, long tickDurationNanos) {
+        float alpha = (float) (nowNanos - capturedNanos) / tickDurationNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    /**
+     * Gets the value of tick.
+     *
+     * @return the number of the tick that produced this snapshot
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the value of gameRunning.
+     *
+     * @return the flag for game running
+     */
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    /**
+     * Gets the interpolated spaceship x coordinate.
+     *
+     * @param alpha the interpolation factor
+     * @return the x coordinate
+     */
+    public int getSpaceshipX(float alpha) {
+        return interpolate(previousSpaceshipX, spaceshipX, alpha);
+    }
+
+    /**
+     * Gets the interpolated spaceship y coordinate.
+     *
+     * @param alpha the interpolation factor
+     * @return the y coordinate
+     */
+    public int getSpaceshipY(float alpha) {
+        return interpolate(previousSpaceshipY, spaceshipY, alpha);
+    }
+
+    /**
+     * Gets the value of spaceshipAlive.
+     *
+     * @return true if the spaceship is alive, false otherwise
+     */
+    public boolean isSpaceshipAlive() {
+        return spaceshipAlive;
+    }
+
+    /**
+     * Gets the laser x coordinate.
+     *
+     * @return the x coordinate
+     */
+    public int getLaserX() {
+        return laserX;
+    }
+
+    /**
+     * Gets the interpolated laser y coordinate.
+     *
+     * @param alpha the interpolation factor
+     * @return the y coordinate
+     */
+    public int getLaserY(float alpha) {
+        return interpolate(previousLaserY, laserY, alpha);
+    }
+
+    /**
+     * Gets the value of laserActive.
+     *
+     * @return true if a laser is in flight, false otherwise
+     */
+    public boolean isLaserActive() {
+        return laserActive;
+    }
+
+    /**
+     * Gets the number of aliens in this snapshot.
+     *
+     * @return the alien count
+     */
+    public int getAlienCount() {
+        return alienCount;
+    }
+
+    /**
+     * Gets the interpolated x coordinate of the alien at the given index.
+     *
+     * @param index the alien index
+     * @param alpha the interpolation factor
+     * @return the x coordinate
+     */
+    public int getAlienX(int index, float alpha) {
+        return interpolate(previousAlienX[index], alienX[index], alpha);
+    }
+
+    /**
+     * Gets the interpolated y coordinate of the alien at the given index.
+     *
+     * @param index the alien index
+     * @param alpha the interpolation factor
+     * @return the y coordinate
+     */
+    public int getAlienY(int index, float alpha) {
+        return interpolate(previousAlienY[index], alienY[index], alpha);
+    }
+
+    /**
+     * Indicates whether or not the alien at the given index is alive.
+     *
+     * @param index the alien index
+     * @return true if the alien is alive, false otherwise
+     */
+    public boolean isAlienAlive(int index) {
+        return alienAlive[index];
+    }
+
+    /**
+     * Gets the interpolated x coordinate of the missile fired by the alien at the given index.
+     *
+     * @param index the alien index
+     * @param alpha the interpolation factor
+     * @return the x coordinate
+     */
+    public int getMissileX(int index, float alpha) {
+        if (!previousMissileActive[index]) {
+            return missileX[index];
+        }
+        return interpolate(previousMissileX[index], missileX[index], alpha);
+    }
+
+    /**
+     * Gets the interpolated y coordinate of the missile fired by the alien at the given index.
+     *
+     * @param index the alien index
+     * @param alpha the interpolation factor
+     * @return the y coordinate
+     */
+    public int getMissileY(int index, float alpha) {
+        if (!previousMissileActive[index]) {
+            return missileY[index];
+        }
+        return interpolate(previousMissileY[index], missileY[index], alpha);
+    }
+
+    /**
+     * Indicates whether or not the alien at the given index has a missile in flight.
+     *
+     * @param index the alien index
+     * @return true if the missile is in flight, false otherwise
+     */
+    public boolean isMissileActive(int index) {
+        return missileActive[index];
+    }
+
+    /**
+     * Gets the value of livingAlienCount.
+     *
+     * @return the number of living aliens
+     */
+    public int getLivingAlienCount() {
+        return livingAlienCount;
+    }
+
+    /**
+     * Gets the value of activeMissileCount.
+     *
+     * @return the number of missiles in flight
+     */
+    public int getActiveMissileCount() {
+        return activeMissileCount;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.context.GameContext;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A triple buffer of preallocated snapshots shared by one writer and one reader. The writer captures into its back
+ * snapshot and swaps it with the middle one; the reader swaps its front snapshot with the middle one when a newer
+ * snapshot is available. Neither side waits on the other and no snapshot is allocated per tick.
+ *
+ * @author Bryan Daniel
+ */
+public class GameSnapshotBuffer {
+
+    /**
+     * The bit marking the middle snapshot as not yet taken by the reader
+     */
+    private static final int FRESH = 4;
+
+    /**
+     * The bits holding the index of the middle snapshot
+     */
+    private static final int INDEX_MASK = 3;
+
+    /**
+     * The three snapshots
+     */
+    private final GameSnapshot[] snapshots = {new GameSnapshot(), new GameSnapshot(), new GameSnapshot()};
+
+    /**
+     * The index of the middle snapshot combined with the fresh bit
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * The index of the snapshot owned by the writer
+     */
+    private int backIndex = 0;
+
+    /**
+     * The snapshot published last by the writer or null if none has been published
+     */
+    private GameSnapshot latest;
+
+    /**
+     * The index of the snapshot owned by the reader
+     */
+    private int frontIndex = 2;
+
+    /**
+     * Indicates whether or not the reader has taken a snapshot
+     */
+    private boolean frontCaptured = false;
+
+    /**
+     * Captures the state of the given game context and publishes it to the reader. Must only be called by the
+     * writer.
+     *
+     * @param gameContext the game context
+     * @param tick the number of the tick that produced the snapshot
+     */
+    public void publish(GameContext gameContext, long tick) {
+        GameSnapshot back = snapshots[backIndex];
+        back.capture(gameContext, latest, tick);
+        latest = back;
+        backIndex = middle.getAndSet(backIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the snapshot published last. Must only be called by the writer, which may read it while the reader does.
+     *
+     * @return the latest snapshot or null if none has been published
+     */
+    public GameSnapshot getLatest() {
+        return latest;
+    }
+
+    /**
+     * Takes the newest published snapshot. The returned snapshot stays unchanged until the next call. Must only be
+     * called by the reader.
+     *
+     * @return the newest snapshot or null if none has been published
+     */
+    public GameSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            frontIndex = middle.getAndSet(frontIndex) & INDEX_MASK;
+            frontCaptured = true;
+        }
+        return frontCaptured ? snapshots[frontIndex] : null;
+    }
+}
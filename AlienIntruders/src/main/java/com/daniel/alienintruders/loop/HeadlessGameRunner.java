@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.database.entity.AlienWave;
+import com.daniel.alienintruders.sprite.Spaceship;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Steps the game engine as fast as the CPU allows without audio or display. A simple autopilot sweeps the spaceship
+ * across the field and fires whenever possible, and a new game is started whenever one ends. Every tick publishes a
+ * snapshot like the game loop does, so the allocation check covers the whole simulation path.
+ *
+ * @author Bryan Daniel
+ */
+public class HeadlessGameRunner implements GameEventListener {
+
+    /**
+     * The number of ticks to run when none is specified
+     */
+    public static final long DEFAULT_TICKS = 1_000_000L;
+
+    /**
+     * The number of ticks measured and discarded before allocation is measured, giving the JIT compiler time to
+     * optimize the engine and the measuring loop
+     */
+    public static final long ALLOCATION_WARM_UP_TICKS = 200_000L;
+
+    /**
+     * The alien wave to play
+     */
+    private final AlienWave alienWave;
+
+    /**
+     * The current game context
+     */
+    private GameContext gameContext;
+
+    /**
+     * The current game engine
+     */
+    private GameEngine gameEngine;
+
+    /**
+     * The snapshots published after every tick
+     */
+    private final GameSnapshotBuffer snapshotBuffer = new GameSnapshotBuffer();
+
+    /**
+     * The number of ticks simulated
+     */
+    private long tickCount = 0;
+
+    /**
+     * The number of aliens destroyed
+     */
+    private long aliensDestroyed = 0;
+
+    /**
+     * The number of games played to the end
+     */
+    private long gamesPlayed = 0;
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Sets the value for the alien wave to play.
+     *
+     * @param alienWave the alien wave
+     */
+    public HeadlessGameRunner(AlienWave alienWave) {
+        this.alienWave = alienWave;
+        logger = LogManager.getLogger(HeadlessGameRunner.class);
+        startGame();
+    }
+
+    /**
+     * Creates a new headless context and engine.
+     */
+    private void startGame() {
+        gameContext = GameContext.createHeadlessContext(alienWave);
+        gameEngine = new GameEngine(gameContext, this);
+    }
+
+    /**
+     * Runs the given number of ticks.
+     *
+     * @param ticks the number of ticks to run
+     * @return the number of ticks per second achieved
+     */
+    public double run(long ticks) {
+        long start = System.nanoTime();
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        double ticksPerSecond = ticks * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        logger.info(String.format("Ran %d headless ticks at %.0f ticks/s - games: %d aliens destroyed: %d",
+                ticks, ticksPerSecond, gamesPlayed, aliensDestroyed));
+        logger.info(gameContext.getSpaceship().getLaserPool());
+        logger.info(gameContext.getAlienSwarm().getMissilePool());
+        logger.info(gameContext.getAlienSwarm().getMissileRoutePool());
+        return ticksPerSecond;
+    }
+
+    /**
+     * Runs the given number of ticks after a warm-up and measures the heap memory allocated by this thread in the
+     * steady state. Starting a new game builds a new context and is not part of the steady state, so restarts are
+     * excluded. The warm-up runs through the same measuring loop, since a loop compiled while it runs may
+     * deoptimize and rematerialize objects on the heap. The measurement relies on the HotSpot thread allocation counters and returns -1 when they are not
+     * available.
+     *
+     * @param ticks the number of ticks to measure
+     * @return the average number of bytes allocated per tick or -1 if allocation cannot be measured
+     */
+    public double measureAllocatedBytesPerTick(long ticks) {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        countAllocatedBytes(allocationBean, ALLOCATION_WARM_UP_TICKS);
+        long allocated = countAllocatedBytes(allocationBean, ticks);
+        double bytesPerTick = (double) allocated / Math.max(1, ticks);
+        logger.info(String.format("Allocated %d bytes in %d headless ticks (%.1f bytes/tick)",
+                allocated, ticks, bytesPerTick));
+        return bytesPerTick;
+    }
+
+    /**
+     * Runs the given number of ticks and counts the bytes allocated by the ticks, excluding game restarts.
+     *
+     * @param allocationBean the bean reading the thread allocation counters
+     * @param ticks the number of ticks to run
+     * @return the number of bytes allocated
+     */
+    private long countAllocatedBytes(com.sun.management.ThreadMXBean allocationBean, long ticks) {
+        long threadId = Thread.currentThread().getId();
+        long allocated = 0;
+        for (long i = 0; i < ticks; i++) {
+            long before = allocationBean.getThreadAllocatedBytes(threadId);
+            tick();
+            allocated += allocationBean.getThreadAllocatedBytes(threadId) - before;
+            restartIfOver();
+        }
+        return allocated;
+    }
+
+    /**
+     * Runs the given number of ticks and verifies that none of them allocates heap memory once the engine is warm.
+     *
+     * @param ticks the number of ticks to measure
+     * @throws IllegalStateException if the steady state allocates
+     */
+    public void verifyZeroAllocation(long ticks) {
+        double bytesPerTick = measureAllocatedBytesPerTick(ticks);
+        if (bytesPerTick > 0) {
+            throw new IllegalStateException(String.format("The steady state allocates %.1f bytes/tick.",
+                    bytesPerTick));
+        }
+        if (bytesPerTick < 0) {
+            logger.warn("Thread allocation counters are not available; allocation was not verified.");
+        }
+    }
+
+    /**
+     * Advances the game by one tick and restarts the game if it has ended.
+     */
+    public void step() {
+        tick();
+        restartIfOver();
+    }
+
+    /**
+     * Steers the spaceship, advances the engine by one tick and publishes a snapshot.
+     */
+    private void tick() {
+        Spaceship spaceship = gameContext.getSpaceship();
+        if (spaceship.getDeltaX() == 0 || spaceship.getX() <= 0) {
+            spaceship.releaseInput(Spaceship.INPUT_LEFT);
+            spaceship.pressInput(Spaceship.INPUT_RIGHT);
+        } else if (spaceship.getX() + Spaceship.SPACESHIP_WIDTH >= GameContext.FIELD_WIDTH) {
+            spaceship.releaseInput(Spaceship.INPUT_RIGHT);
+            spaceship.pressInput(Spaceship.INPUT_LEFT);
+        }
+        spaceship.pressInput(Spaceship.INPUT_FIRE);
+        gameEngine.update();
+        snapshotBuffer.publish(gameContext, ++tickCount);
+    }
+
+    /**
+     * Starts a new game if the current one has ended.
+     */
+    private void restartIfOver() {
+        if (gameEngine.isGameOver()) {
+            gamesPlayed++;
+            startGame();
+        }
+    }
+
+    @Override
+    public void alienDestroyed(int alienIndex) {
+        aliensDestroyed++;
+    }
+
+    /**
+     * Gets the value of gameContext.
+     *
+     * @return the current game context
+     */
+    public GameContext getGameContext() {
+        return gameContext;
+    }
+
+    /**
+     * Gets the value of gameEngine.
+     *
+     * @return the current game engine
+     */
+    public GameEngine getGameEngine() {
+        return gameEngine;
+    }
+
+    /**
+     * Runs the headless engine from the command line.
+     *
+     * @param args the number of alien rows, the number of alien columns and the number of ticks
+     */
+    public static void main(String[] args) {
+        AlienWave alienWave = new AlienWave();
+        alienWave.setWave(1);
+        alienWave.setDescription("Headless wave");
+        alienWave.setNumberOfRows(args.length > 0 ? Integer.parseInt(args[0]) : 5);
+        alienWave.setNumberOfColumns(args.length > 1 ? Integer.parseInt(args[1]) : 7);
+        alienWave.setMissileSpeed(4);
+        alienWave.setPoints(100);
+        long ticks = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TICKS;
+        HeadlessGameRunner runner = new HeadlessGameRunner(alienWave);
+        double ticksPerSecond = runner.run(ticks);
+        System.out.println(String.format("%dx%d aliens: %.0f ticks/s", alienWave.getNumberOfRows(),
+                alienWave.getNumberOfColumns(), ticksPerSecond));
+        runner.verifyZeroAllocation(Math.min(ticks, DEFAULT_TICKS));
+        System.out.println("No allocation in steady state.");
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The performance metrics of one game loop. The loop records the time spent updating and the heap memory allocated
+ * by each tick, and the panel records the time spent rendering each frame and the interval between frames. All
+ * durations are in nanoseconds.
+ *
+ * @author Bryan Daniel
+ */
+public class GameMetrics {
+
+    /**
+     * The time spent in each engine update
+     */
+    private final LatencyHistogram updateTimes = new LatencyHistogram();
+
+    /**
+     * The time spent drawing each frame
+     */
+    private final LatencyHistogram renderTimes = new LatencyHistogram();
+
+    /**
+     * The time between the starts of two consecutive frames
+     */
+    private final LatencyHistogram frameIntervals = new LatencyHistogram();
+
+    /**
+     * The heap memory in bytes allocated by each tick
+     */
+    private final LatencyHistogram allocatedBytes = new LatencyHistogram();
+
+    /**
+     * The monitor of the garbage collection pauses
+     */
+    private final GcPauseMonitor gcPauseMonitor;
+
+    /**
+     * The bean reading the thread allocation counters or null if they are not available
+     */
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /**
+     * The value of System.nanoTime() at the start of the previous frame or 0 if no frame has been drawn
+     */
+    private long lastFrameStart = 0;
+
+    /**
+     * The value of System.nanoTime() at the start of the current frame rate window
+     */
+    private long frameWindowStart = 0;
+
+    /**
+     * The number of frames drawn in the current frame rate window
+     */
+    private int frameWindowCount = 0;
+
+    /**
+     * The frame rate measured over the last second
+     */
+    private volatile double measuredFrameRate;
+
+    /**
+     * Creates the histograms and enables the thread allocation counters where they are supported.
+     */
+    public GameMetrics() {
+        gcPauseMonitor = GcPauseMonitor.getInstance();
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean bean = null;
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            } else {
+                bean = null;
+            }
+        }
+        allocationBean = bean;
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread.
+     *
+     * @return the allocated bytes or -1 if allocation cannot be measured
+     */
+    public long getCurrentThreadAllocatedBytes() {
+        return allocationBean == null ? -1 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Records a simulation tick.
+     *
+     * @param updateTime the time spent in the engine update
+     * @param allocated the bytes allocated by the tick or a negative value if unknown
+     */
+    public void recordTick(long updateTime, long allocated) {
+        updateTimes.record(updateTime);
+        if (allocated >= 0) {
+            allocatedBytes.record(allocated);
+        }
+    }
+
+    /**
+     * Records a rendered frame. Frames must be recorded from one thread at a time.
+     *
+     * @param frameStart the value of System.nanoTime() when drawing started
+     * @param renderTime the time spent drawing the frame
+     */
+    public void recordFrame(long frameStart, long renderTime) {
+        renderTimes.record(renderTime);
+        if (lastFrameStart != 0) {
+            frameIntervals.record(frameStart - lastFrameStart);
+        } else {
+            frameWindowStart = frameStart;
+        }
+        lastFrameStart = frameStart;
+        frameWindowCount++;
+        long windowLength = frameStart - frameWindowStart;
+        if (windowLength >= TimeUnit.SECONDS.toNanos(1)) {
+            measuredFrameRate = frameWindowCount * (double) TimeUnit.SECONDS.toNanos(1) / windowLength;
+            frameWindowStart = frameStart;
+            frameWindowCount = 0;
+        }
+    }
+
+    /**
+     * Gets the value of updateTimes.
+     *
+     * @return the time spent in each engine update
+     */
+    public LatencyHistogram getUpdateTimes() {
+        return updateTimes;
+    }
+
+    /**
+     * Gets the value of renderTimes.
+     *
+     * @return the time spent drawing each frame
+     */
+    public LatencyHistogram getRenderTimes() {
+        return renderTimes;
+    }
+
+    /**
+     * Gets the value of frameIntervals.
+     *
+     * @return the time between the starts of two consecutive frames
+     */
+    public LatencyHistogram getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    /**
+     * Gets the value of allocatedBytes.
+     *
+     * @return the heap memory in bytes allocated by each tick
+     */
+    public LatencyHistogram getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the collection pauses of the process.
+     *
+     * @return the collection durations
+     */
+    public LatencyHistogram getGcPauses() {
+        return gcPauseMonitor.getPauses();
+    }
+
+    /**
+     * Gets the value of measuredFrameRate.
+     *
+     * @return the number of frames drawn during the last measured second
+     */
+    public double getMeasuredFrameRate() {
+        return measuredFrameRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("update p50 %.2f ms p99 %.2f ms, render p50 %.2f ms p99 %.2f ms, "
+                + "frame p50 %.2f ms p99 %.2f ms, alloc p50 %d B/tick, gc %d pauses max %.1f ms",
+                toMillis(updateTimes.getValueAtPercentile(50)), toMillis(updateTimes.getValueAtPercentile(99)),
+                toMillis(renderTimes.getValueAtPercentile(50)), toMillis(renderTimes.getValueAtPercentile(99)),
+                toMillis(frameIntervals.getValueAtPercentile(50)), toMillis(frameIntervals.getValueAtPercentile(99)),
+                allocatedBytes.getValueAtPercentile(50), getGcPauses().getTotalCount(),
+                toMillis(getGcPauses().getMaxValue()));
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in milliseconds
+     */
+    public static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
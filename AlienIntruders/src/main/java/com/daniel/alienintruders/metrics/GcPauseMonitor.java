@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records the duration of every garbage collection reported by the platform collector beans. The monitor is shared
+ * by the whole process and starts listening the first time it is requested.
+ *
+ * @author Bryan Daniel
+ */
+public class GcPauseMonitor implements NotificationListener {
+
+    /**
+     * The single instance of this class
+     */
+    private static GcPauseMonitor instance;
+
+    /**
+     * The collection durations in nanoseconds
+     */
+    private final LatencyHistogram pauses = new LatencyHistogram();
+
+    /**
+     * The total time spent collecting in nanoseconds
+     */
+    private volatile long totalPauseTime;
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Creates the monitor.
+     */
+    private GcPauseMonitor() {
+        logger = LogManager.getLogger(GcPauseMonitor.class);
+    }
+
+    /**
+     * Returns the shared monitor, registering it with the collector beans on the first call.
+     *
+     * @return the monitor
+     */
+    public static synchronized GcPauseMonitor getInstance() {
+        if (instance == null) {
+            instance = new GcPauseMonitor();
+            instance.register();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds this monitor as a listener of every collector bean that emits notifications.
+     */
+    private void register() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+            } else {
+                logger.info("GC notifications are not available for " + collector.getName() + ".");
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData());
+        long duration = TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration());
+        synchronized (pauses) {
+            pauses.record(duration);
+            totalPauseTime += duration;
+        }
+    }
+
+    /**
+     * Gets the value of pauses.
+     *
+     * @return the collection durations in nanoseconds
+     */
+    public LatencyHistogram getPauses() {
+        return pauses;
+    }
+
+    /**
+     * Gets the value of totalPauseTime.
+     *
+     * @return the total time spent collecting in nanoseconds
+     */
+    public long getTotalPauseTime() {
+        return totalPauseTime;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of non-negative values with logarithmic buckets. Every power of two is split into
+ * SUB_BUCKET_COUNT linear buckets, so recorded values keep a relative precision of about 12 percent from 1 to
+ * Long.MAX_VALUE without allocating. Recording is safe from one thread while other threads read.
+ *
+ * @author Bryan Daniel
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of a value used to select a bucket within its power of two
+     */
+    public static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of linear buckets in each power of two
+     */
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets covering all non-negative long values
+     */
+    public static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * The number of recorded values in each bucket
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The number of recorded values
+     */
+    private volatile long totalCount;
+
+    /**
+     * The sum of the recorded values
+     */
+    private volatile long totalSum;
+
+    /**
+     * The largest recorded value
+     */
+    private volatile long maxValue;
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(recorded));
+        totalCount++;
+        totalSum += recorded;
+        if (recorded > maxValue) {
+            maxValue = recorded;
+        }
+    }
+
+    /**
+     * Returns the bucket holding the given value.
+     *
+     * @param value the non-negative value
+     * @return the bucket index
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the largest value held by the given bucket.
+     *
+     * @param index the bucket index
+     * @return the upper bound of the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall, as the upper bound of the
+     * bucket containing it.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value at the percentile or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount;
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        long count = totalCount;
+        return count == 0 ? 0 : (double) totalSum / count;
+    }
+
+    /**
+     * Gets the value of totalCount.
+     *
+     * @return the number of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the value of maxValue.
+     *
+     * @return the largest recorded value
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Clears all recorded values. Values recorded while the histogram is being cleared may be lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount = 0;
+        totalSum = 0;
+        maxValue = 0;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.pool;
+
+import java.util.function.Supplier;
+
+/**
+ * A fixed-capacity pool of reusable objects. Every instance is created up front and kept on a free list, so acquiring
+ * and releasing objects never allocates. When all instances are in use, acquire() returns null and the request is
+ * counted as a miss instead of growing the pool.
+ *
+ * @param <T> the type of the pooled objects
+ * @author Bryan Daniel
+ */
+public class ObjectPool<T extends Poolable> {
+
+    /**
+     * The name of the pool used in metrics
+     */
+    private final String name;
+
+    /**
+     * The stack of free instances
+     */
+    private final Object[] free;
+
+    /**
+     * The number of free instances on the stack
+     */
+    private int freeCount;
+
+    /**
+     * The largest number of instances in use at the same time
+     */
+    private int peakInUse = 0;
+
+    /**
+     * The number of acquire requests that found the pool empty
+     */
+    private long misses = 0;
+
+    /**
+     * Creates the pool and fills it with the given number of instances.
+     *
+     * @param name the name of the pool
+     * @param capacity the number of pooled instances
+     * @param factory creates the pooled instances
+     */
+    public ObjectPool(String name, int capacity, Supplier<T> factory) {
+        this.name = name;
+        free = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            free[i] = factory.get();
+        }
+        freeCount = capacity;
+    }
+
+    /**
+     * Takes a free instance from the pool and resets it.
+     *
+     * @return the instance or null if all instances are in use
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T acquire() {
+        if (freeCount == 0) {
+            misses++;
+            return null;
+        }
+        T instance = (T) free[--freeCount];
+        free[freeCount] = null;
+        int inUse = free.length - freeCount;
+        if (inUse > peakInUse) {
+            peakInUse = inUse;
+        }
+        instance.reset();
+        return instance;
+    }
+
+    /**
+     * Returns an instance to the pool. The instance must have been acquired from this pool and must not be used
+     * after it is released.
+     *
+     * @param instance the instance
+     */
+    public synchronized void release(T instance) {
+        if (instance == null) {
+            return;
+        }
+        if (freeCount == free.length) {
+            throw new IllegalStateException("More instances released than acquired from pool " + name);
+        }
+        free[freeCount++] = instance;
+    }
+
+    /**
+     * Gets the value of name.
+     *
+     * @return the name of the pool
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of pooled instances.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return free.length;
+    }
+
+    /**
+     * Gets the number of instances currently in use.
+     *
+     * @return the number of instances in use
+     */
+    public synchronized int getInUse() {
+        return free.length - freeCount;
+    }
+
+    /**
+     * Gets the value of peakInUse.
+     *
+     * @return the largest number of instances in use at the same time
+     */
+    public synchronized int getPeakInUse() {
+        return peakInUse;
+    }
+
+    /**
+     * Gets the value of misses.
+     *
+     * @return the number of acquire requests that found the pool empty
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s pool: %d/%d in use, peak %d, misses %d", name, free.length - freeCount,
+                free.length, peakInUse, misses);
+    }
+}
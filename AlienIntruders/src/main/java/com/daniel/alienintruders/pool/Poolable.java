@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.pool;
+
+/**
+ * An object that can be reused through an ObjectPool.
+ *
+ * @author Bryan Daniel
+ */
+public interface Poolable {
+
+    /**
+     * Returns this object to the state of a newly created instance. Called each time the object is acquired from its
+     * pool.
+     */
+    void reset();
+}
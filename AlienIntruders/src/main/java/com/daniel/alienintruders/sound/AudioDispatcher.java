@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sound;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.jfr.AudioPlaybackEvent;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Dispatches sound requests to a small pool of daemon threads so that the game loop and the event dispatch thread
+ * never create threads or wait on audio lines. Requests to play the same sound within one tick are merged into a
+ * single playback, delayed cues are scheduled instead of sleeping, and requests beyond the bounded number of pending
+ * tasks are dropped rather than queued.
+ *
+ * @author Bryan Daniel
+ */
+public final class AudioDispatcher {
+
+    /**
+     * The number of threads playing sounds
+     */
+    public static final int THREAD_COUNT = 2;
+
+    /**
+     * The maximum number of tasks waiting to run
+     */
+    public static final int MAX_PENDING_TASKS = 32;
+
+    /**
+     * The time in nanoseconds within which repeated requests for the same sound are merged
+     */
+    public static final long COALESCE_WINDOW = TimeUnit.MILLISECONDS.toNanos(GameContext.TICK_DURATION);
+
+    /**
+     * The single instance of this class
+     */
+    private static AudioDispatcher instance;
+
+    /**
+     * The executor running the tasks
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * The number of tasks waiting to run
+     */
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+
+    /**
+     * The number of requests merged into an earlier request for the same sound
+     */
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * The number of requests dropped because too many tasks were pending
+     */
+    private final AtomicLong droppedRequests = new AtomicLong();
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Creates the dispatcher and its threads.
+     */
+    private AudioDispatcher() {
+        logger = LogManager.getLogger(AudioDispatcher.class);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(THREAD_COUNT, (Runnable runnable) -> {
+            Thread thread = new Thread(runnable, "audio-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Returns the shared dispatcher, creating it on the first call.
+     *
+     * @return the dispatcher
+     */
+    public static synchronized AudioDispatcher getInstance() {
+        if (instance == null) {
+            instance = new AudioDispatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Plays the sound of the given player. Requests for a sound that was requested within the coalescing window are
+     * merged into the earlier request. The playback latency is timed from this call, including the time the request
+     * waits for a dispatch thread.
+     *
+     * @param audioPlayer the audio player or null if the context has no audio
+     */
+    public void play(AudioPlayer audioPlayer) {
+        if (audioPlayer == null) {
+            return;
+        }
+        if (!audioPlayer.claimPlayRequest(System.nanoTime(), COALESCE_WINDOW)) {
+            coalescedRequests.incrementAndGet();
+            return;
+        }
+        AudioPlaybackEvent playbackEvent = audioPlayer.beginPlayback();
+        submit(() -> audioPlayer.playSound(playbackEvent), 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the sound of the given player.
+     *
+     * @param audioPlayer the audio player or null if the context has no audio
+     */
+    public void stop(AudioPlayer audioPlayer) {
+        if (audioPlayer != null) {
+            submit(audioPlayer::stopSound, 0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Runs the given cue after the given delay on a dispatch thread.
+     *
+     * @param cue the cue to run
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return true if the cue was scheduled, false if it was dropped
+     */
+    public boolean schedule(Runnable cue, long delay, TimeUnit unit) {
+        return submit(cue, delay, unit);
+    }
+
+    /**
+     * Submits a task unless too many tasks are pending.
+     *
+     * @param task the task
+     * @param delay the delay before the task runs
+     * @param unit the unit of the delay
+     * @return true if the task was submitted, false if it was dropped
+     */
+    private boolean submit(Runnable task, long delay, TimeUnit unit) {
+        if (pendingTasks.incrementAndGet() > MAX_PENDING_TASKS) {
+            pendingTasks.decrementAndGet();
+            droppedRequests.incrementAndGet();
+            return false;
+        }
+        executor.schedule(() -> {
+            pendingTasks.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                logger.error("RuntimeException occurred in an audio task.", ex);
+            }
+        }, delay, unit);
+        return true;
+    }
+
+    /**
+     * Gets the number of tasks waiting to run.
+     *
+     * @return the pending task count
+     */
+    public int getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    /**
+     * Gets the value of coalescedRequests.
+     *
+     * @return the number of requests merged into an earlier request
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * Gets the value of droppedRequests.
+     *
+     * @return the number of requests dropped because too many tasks were pending
+     */
+    public long getDroppedRequests() {
+        return droppedRequests.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Audio dispatcher: %d pending, %d coalesced, %d dropped", pendingTasks.get(),
+                coalescedRequests.get(), droppedRequests.get());
+    }
+}
@@ -15,50 +15,130 @@
  */
 package com.daniel.alienintruders.sound;
 
-import java.io.IOException;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.Clip;
-import org.apache.logging.log4j.LogManager;
+import com.daniel.alienintruders.jfr.AudioPlaybackEvent;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.EventType;
 
 /**
- * Plays sounds in the game.
+ * Plays sounds in the game through the software mixer.
  *
  * @author Bryan Daniel
  */
 public abstract class AudioPlayer {
 
     /**
-     * The audio input stream
+     * The gain of sounds played at their recorded volume
      */
-    protected AudioInputStream audioInputStream;
+    public static final float FULL_GAIN = 1.0f;
 
     /**
-     * The clip
+     * The Flight Recorder type of the playback events, checked so that no event is allocated while the type is not
+     * recorded
      */
-    protected Clip clip;
+    private static final EventType PLAYBACK_TYPE = EventType.getEventType(AudioPlaybackEvent.class);
 
     /**
-     * Initializes the audio player.
+     * The mixer playing the sound or null if the game has no audio
      */
-    protected abstract void initialize();
+    private final SoftwareMixer mixer;
 
     /**
-     * Plays the sound.
+     * The type of the sound
+     */
+    private final SoundType soundType;
+
+    /**
+     * The gain applied to the sound
+     */
+    private final float gain;
+
+    /**
+     * Indicates whether or not the sound restarts when it ends
+     */
+    private final boolean looping;
+
+    /**
+     * The value of System.nanoTime() of the last accepted request to play this sound
+     */
+    private final AtomicLong lastPlayRequest = new AtomicLong();
+
+    /**
+     * Indicates whether or not a request to play this sound has been accepted
+     */
+    private volatile boolean playRequested = false;
+
+    /**
+     * Sets the values for the mixer and the sound.
+     *
+     * @param mixer the mixer playing the sound or null if the game has no audio
+     * @param soundType the type of the sound
+     * @param gain the gain applied to the sound
+     * @param looping true if the sound restarts when it ends, false otherwise
+     */
+    protected AudioPlayer(SoftwareMixer mixer, SoundType soundType, float gain, boolean looping) {
+        this.mixer = mixer;
+        this.soundType = soundType;
+        this.gain = gain;
+        this.looping = looping;
+    }
+
+    /**
+     * Plays the sound. Sounds that do not loop overlap earlier playbacks of the same sound, while a looping sound is
+     * restarted from its beginning.
      */
     public void playSound() {
-        if (clip != null) {
-            clip.stop();
-            clip.setMicrosecondPosition(0);
-            clip.start();
+        playSound(beginPlayback());
+    }
+
+    /**
+     * Starts timing a request to play this sound. Called when the request is made, so that the time spent waiting
+     * for a dispatch thread is part of the recorded latency.
+     *
+     * @return the playback event or null if the game has no audio or the event type is not recorded
+     */
+    AudioPlaybackEvent beginPlayback() {
+        if (mixer == null || !PLAYBACK_TYPE.isEnabled()) {
+            return null;
+        }
+        return new AudioPlaybackEvent(soundType.name());
+    }
+
+    /**
+     * Plays the sound for a request timed by the given event.
+     *
+     * @param playbackEvent the event begun when the sound was requested or null if it is not recorded
+     */
+    void playSound(AudioPlaybackEvent playbackEvent) {
+        if (mixer != null) {
+            if (looping) {
+                mixer.stop(soundType);
+            }
+            mixer.play(soundType, gain, looping, playbackEvent);
+        }
+    }
+
+    /**
+     * Accepts a request to play this sound unless another request was accepted within the given window.
+     *
+     * @param now the value of System.nanoTime() of the request
+     * @param window the time in nanoseconds within which requests are merged
+     * @return true if the request was accepted, false if it was merged into an earlier request
+     */
+    boolean claimPlayRequest(long now, long window) {
+        long lastRequest = lastPlayRequest.get();
+        if (playRequested && now - lastRequest < window) {
+            return false;
         }
+        playRequested = true;
+        return lastPlayRequest.compareAndSet(lastRequest, now);
     }
 
     /**
      * Stops playing the sound.
      */
     public void stopSound() {
-        if (clip != null) {
-            clip.stop();
+        if (mixer != null) {
+            mixer.stop(soundType);
         }
     }
 
@@ -66,15 +146,15 @@ public abstract class AudioPlayer {
      * Cleans up resources.
      */
     public void close() {
-        if (clip != null) {
-            clip.close();
-        }
-        if (audioInputStream != null) {
-            try {
-                audioInputStream.close();
-            } catch (IOException ex) {
-                LogManager.getLogger(AudioPlayer.class).error("IOException occurred in close().", ex);
-            }
-        }
+        stopSound();
+    }
+
+    /**
+     * Gets the value of soundType.
+     *
+     * @return the type of the sound
+     */
+    public SoundType getSoundType() {
+        return soundType;
     }
 }
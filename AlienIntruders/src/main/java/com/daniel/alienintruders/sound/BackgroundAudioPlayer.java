@@ -15,16 +15,6 @@
  */
 package com.daniel.alienintruders.sound;
 
-import java.io.IOException;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * Responsible for playing the background sound.
  *
@@ -32,43 +22,12 @@ import org.apache.logging.log4j.Logger;
  */
 public final class BackgroundAudioPlayer extends AudioPlayer {
 
-    /**
-     * The logger for this class
-     */
-    private final Logger logger;
-
     /**
      * Initializes the audio player.
+     *
+     * @param mixer the mixer playing the sound
      */
-    public BackgroundAudioPlayer() {
-        super();
-        logger = LogManager.getLogger(BackgroundAudioPlayer.class);
-        initialize();
-    }
-
-    @Override
-    protected void initialize() {
-        try {
-            audioInputStream = AudioSystem.getAudioInputStream(SoundFactory.getAudioInput(SoundType.BACKGROUND));
-            AudioFormat format = audioInputStream.getFormat();
-            DataLine.Info dataLineInfo = new DataLine.Info(Clip.class, format);
-            clip = (Clip) AudioSystem.getLine(dataLineInfo);
-            clip.open(audioInputStream);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            logger.error("Exception occurred in BackgroundAudioPlayer.initialize().", ex);
-        }
-    }
-
-    /**
-     * Plays the sound.
-     */
-    @Override
-    public void playSound() {
-        if (clip != null) {
-            clip.stop();
-            clip.setMicrosecondPosition(0);
-            clip.start();
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
-        }
+    public BackgroundAudioPlayer(SoftwareMixer mixer) {
+        super(mixer, SoundType.BACKGROUND, FULL_GAIN, true);
     }
 }
@@ -15,16 +15,6 @@
  */
 package com.daniel.alienintruders.sound;
 
-import java.io.IOException;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * Responsible for playing the explosion sounds.
  *
@@ -33,29 +23,16 @@ import org.apache.logging.log4j.Logger;
 public final class ExplosionAudioPlayer extends AudioPlayer {
 
     /**
-     * The logger for this class
+     * The gain of the explosions, which is lowered because overlapping explosions add up
      */
-    private final Logger logger;
+    public static final float EXPLOSION_GAIN = 0.7f;
 
     /**
      * Initializes the audio player.
+     *
+     * @param mixer the mixer playing the sound
      */
-    public ExplosionAudioPlayer() {
-        super();
-        logger = LogManager.getLogger(ExplosionAudioPlayer.class);
-        initialize();
-    }
-
-    @Override
-    protected void initialize() {
-        try {
-            audioInputStream = AudioSystem.getAudioInputStream(SoundFactory.getAudioInput(SoundType.EXPLOSION));
-            AudioFormat format = audioInputStream.getFormat();
-            DataLine.Info dataLineInfo = new DataLine.Info(Clip.class, format);
-            clip = (Clip) AudioSystem.getLine(dataLineInfo);
-            clip.open(audioInputStream);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            logger.error("Exception occurred in ExplosionAudioPlayer.initialize().", ex);
-        }
+    public ExplosionAudioPlayer(SoftwareMixer mixer) {
+        super(mixer, SoundType.EXPLOSION, EXPLOSION_GAIN, false);
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sound;
+
+/**
+ * A decoded sound held in memory as interleaved 16-bit stereo samples in the format of the software mixer.
+ *
+ * @author Bryan Daniel
+ */
+public final class PcmSound {
+
+    /**
+     * The interleaved left and right samples
+     */
+    private final short[] samples;
+
+    /**
+     * Sets the value for the samples.
+     *
+     * @param samples the interleaved left and right samples
+     */
+    public PcmSound(short[] samples) {
+        this.samples = samples;
+    }
+
+    /**
+     * Gets the sample at the given index.
+     *
+     * @param index the index of the sample
+     * @return the sample
+     */
+    public short getSample(int index) {
+        return samples[index];
+    }
+
+    /**
+     * Gets the number of stereo frames in this sound.
+     *
+     * @return the frame count
+     */
+    public int getFrameCount() {
+        return samples.length / SoftwareMixer.CHANNELS;
+    }
+}
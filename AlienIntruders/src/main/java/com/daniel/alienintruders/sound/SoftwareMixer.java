@@ -0,0 +1,333 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sound;
+
+import com.daniel.alienintruders.jfr.AudioPlaybackEvent;
+import java.util.Arrays;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Mixes the game sounds in software into a single SourceDataLine. Each playback is a voice reading the decoded sound
+ * shared by SoundFactory and added to the mix on a dedicated audio thread, so sounds of the same type overlap instead
+ * of cutting each other off. The number of voices is limited; when all voices are busy, the oldest sound that does
+ * not loop is replaced. One mixer serves the whole process, and its line is opened on the first playback.
+ *
+ * @author Bryan Daniel
+ */
+public class SoftwareMixer implements Runnable {
+
+    /**
+     * The sample rate of the mix
+     */
+    public static final float SAMPLE_RATE = 44100f;
+
+    /**
+     * The number of channels of the mix
+     */
+    public static final int CHANNELS = 2;
+
+    /**
+     * The number of bytes in a stereo frame of 16-bit samples
+     */
+    public static final int FRAME_BYTES = CHANNELS * 2;
+
+    /**
+     * The number of frames mixed and written at a time, about 12 milliseconds
+     */
+    public static final int CHUNK_FRAMES = 512;
+
+    /**
+     * The number of chunks held by the line buffer, which bounds the latency of a new sound
+     */
+    public static final int LINE_BUFFER_CHUNKS = 4;
+
+    /**
+     * The default maximum number of sounds playing at the same time
+     */
+    public static final int DEFAULT_VOICE_LIMIT = 16;
+
+    /**
+     * The format of the mix
+     */
+    public static final AudioFormat MIX_FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    /**
+     * The single instance of this class
+     */
+    private static SoftwareMixer instance;
+
+    /**
+     * The voices, which also serve as the lock for voice state
+     */
+    private final Voice[] voices;
+
+    /**
+     * The playback events of the voices started in the chunk being mixed
+     */
+    private final AudioPlaybackEvent[] startedEvents;
+
+    /**
+     * The mix of one chunk before clipping
+     */
+    private final int[] mixBuffer = new int[CHUNK_FRAMES * CHANNELS];
+
+    /**
+     * The bytes of one chunk written to the line
+     */
+    private final byte[] outputBuffer = new byte[CHUNK_FRAMES * FRAME_BYTES];
+
+    /**
+     * The line receiving the mix or null if no line could be opened
+     */
+    private SourceDataLine line;
+
+    /**
+     * The thread mixing the voices
+     */
+    private Thread mixerThread;
+
+    /**
+     * Indicates whether or not the mixer is running
+     */
+    private volatile boolean running = false;
+
+    /**
+     * Indicates whether or not opening the line has been attempted
+     */
+    private boolean openAttempted = false;
+
+    /**
+     * The number of voices started
+     */
+    private long startCount = 0;
+
+    /**
+     * The number of voices replaced because all voices were busy
+     */
+    private long stolenVoices = 0;
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Creates the voices. The line is opened on the first playback.
+     *
+     * @param voiceLimit the maximum number of sounds playing at the same time
+     */
+    public SoftwareMixer(int voiceLimit) {
+        logger = LogManager.getLogger(SoftwareMixer.class);
+        voices = new Voice[voiceLimit];
+        for (int i = 0; i < voiceLimit; i++) {
+            voices[i] = new Voice();
+        }
+        startedEvents = new AudioPlaybackEvent[voiceLimit];
+    }
+
+    /**
+     * Returns the mixer shared by the process, creating it on the first call.
+     *
+     * @return the mixer
+     */
+    public static synchronized SoftwareMixer getInstance() {
+        if (instance == null) {
+            instance = new SoftwareMixer(DEFAULT_VOICE_LIMIT);
+        }
+        return instance;
+    }
+
+    /**
+     * Opens and starts the line and the mixer thread unless this has already been attempted. Without a line the
+     * mixer stays silent.
+     *
+     * @return true if the mixer is running, false otherwise
+     */
+    private synchronized boolean ensureOpen() {
+        if (openAttempted) {
+            return running;
+        }
+        openAttempted = true;
+        try {
+            line = AudioSystem.getSourceDataLine(MIX_FORMAT);
+            line.open(MIX_FORMAT, CHUNK_FRAMES * LINE_BUFFER_CHUNKS * FRAME_BYTES);
+            line.start();
+            running = true;
+            mixerThread = new Thread(this, "audio-mixer");
+            mixerThread.setDaemon(true);
+            mixerThread.setPriority(Thread.MAX_PRIORITY);
+            mixerThread.start();
+        } catch (LineUnavailableException | IllegalArgumentException ex) {
+            logger.error("Exception occurred in SoftwareMixer.ensureOpen().", ex);
+            line = null;
+        }
+        return running;
+    }
+
+    /**
+     * Starts playing a sound on a free voice, replacing the oldest sound that does not loop if all voices are busy.
+     *
+     * @param soundType the type of the sound
+     * @param gain the gain applied to the sound
+     * @param looping true if the sound restarts when it ends, false otherwise
+     * @param playbackEvent the playback event committed when the sound reaches the line or null if none is recorded
+     * @return true if the sound was started, false if no voice was available
+     */
+    public boolean play(SoundType soundType, float gain, boolean looping, AudioPlaybackEvent playbackEvent) {
+        PcmSound sound = SoundFactory.getPcmSound(soundType);
+        if (sound.getFrameCount() == 0 || !ensureOpen()) {
+            return false;
+        }
+        synchronized (voices) {
+            Voice selected = null;
+            for (Voice voice : voices) {
+                if (!voice.isActive()) {
+                    selected = voice;
+                    break;
+                }
+                if (!voice.isLooping() && (selected == null || voice.getStartOrder() < selected.getStartOrder())) {
+                    selected = voice;
+                }
+            }
+            if (selected == null) {
+                return false;
+            }
+            if (selected.isActive()) {
+                stolenVoices++;
+            }
+            selected.start(soundType, sound, gain, looping, startCount++, playbackEvent);
+            return true;
+        }
+    }
+
+    /**
+     * Stops every voice playing the given sound.
+     *
+     * @param soundType the type of the sound
+     */
+    public void stop(SoundType soundType) {
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                if (voice.getSoundType() == soundType) {
+                    voice.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops every voice.
+     */
+    public void stopAll() {
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                voice.stop();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of voices playing a sound.
+     *
+     * @return the active voice count
+     */
+    public int getActiveVoiceCount() {
+        int activeVoices = 0;
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                if (voice.isActive()) {
+                    activeVoices++;
+                }
+            }
+        }
+        return activeVoices;
+    }
+
+    /**
+     * Gets the value of stolenVoices.
+     *
+     * @return the number of voices replaced because all voices were busy
+     */
+    public long getStolenVoices() {
+        synchronized (voices) {
+            return stolenVoices;
+        }
+    }
+
+    /**
+     * Gets the maximum number of sounds playing at the same time.
+     *
+     * @return the voice limit
+     */
+    public int getVoiceLimit() {
+        return voices.length;
+    }
+
+    /**
+     * Stops the mixer thread, which then closes the line. A closed mixer does not reopen its line.
+     */
+    public void close() {
+        running = false;
+        stopAll();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            int startedCount = mixChunk();
+            line.write(outputBuffer, 0, outputBuffer.length);
+            for (int i = 0; i < startedCount; i++) {
+                startedEvents[i].commit();
+                startedEvents[i] = null;
+            }
+        }
+        line.stop();
+        line.flush();
+        line.close();
+    }
+
+    /**
+     * Mixes one chunk of every active voice into the output buffer, clipping the sum to 16 bits.
+     *
+     * @return the number of playback events of voices started in this chunk
+     */
+    private int mixChunk() {
+        Arrays.fill(mixBuffer, 0);
+        int startedCount = 0;
+        synchronized (voices) {
+            for (Voice voice : voices) {
+                if (voice.isActive()) {
+                    AudioPlaybackEvent playbackEvent = voice.takePlaybackEvent();
+                    if (playbackEvent != null) {
+                        startedEvents[startedCount++] = playbackEvent;
+                    }
+                    voice.mixInto(mixBuffer, CHUNK_FRAMES);
+                }
+            }
+        }
+        for (int i = 0; i < mixBuffer.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixBuffer[i]));
+            outputBuffer[i * 2] = (byte) sample;
+            outputBuffer[i * 2 + 1] = (byte) (sample >> 8);
+        }
+        return startedCount;
+    }
+}
@@ -16,9 +16,20 @@
 package com.daniel.alienintruders.sound;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
- * Creates input streams for audio used in the game.
+ * Creates input streams for audio used in the game and keeps every sound decoded once for the life of the process.
  *
  * @author Bryan Daniel
  */
@@ -54,48 +65,170 @@ public class SoundFactory {
      */
     public static final String BACKGROUND_URL = "sounds/arcade.wav";
 
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(SoundFactory.class);
+
+    /**
+     * The decoded sounds
+     */
+    private static final Map<SoundType, PcmSound> PCM_CACHE = new EnumMap<>(SoundType.class);
+
     /**
      * Private constructor - not instantiated
      */
     private SoundFactory() {
     }
 
+    /**
+     * Returns the decoded sound of the specified type, decoding it on the first request.
+     *
+     * @param soundType the sound type
+     * @return the shared decoded sound, which is empty if the sound cannot be read
+     */
+    public static synchronized PcmSound getPcmSound(SoundType soundType) {
+        PcmSound sound = PCM_CACHE.get(soundType);
+        if (sound == null) {
+            sound = decode(soundType);
+            PCM_CACHE.put(soundType, sound);
+        }
+        return sound;
+    }
+
+    /**
+     * Decodes every sound that has not been decoded yet.
+     */
+    public static void preloadSounds() {
+        for (SoundType soundType : SoundType.values()) {
+            getPcmSound(soundType);
+        }
+    }
+
+    /**
+     * Decodes the given sound into interleaved 16-bit stereo samples at the sample rate of the mixer.
+     *
+     * @param soundType the sound type
+     * @return the decoded sound, which is empty if the sound cannot be read
+     */
+    private static PcmSound decode(SoundType soundType) {
+        InputStream input = getAudioInput(soundType);
+        if (input == null) {
+            LOGGER.error("Sound resource not found: " + soundType);
+            return new PcmSound(new short[0]);
+        }
+        try (AudioInputStream sourceStream = AudioSystem.getAudioInputStream(input)) {
+            AudioFormat sourceFormat = sourceStream.getFormat();
+            int sourceChannels = sourceFormat.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(),
+                    16, sourceChannels, sourceChannels * 2, sourceFormat.getSampleRate(), false);
+            try (AudioInputStream pcmStream = AudioSystem.getAudioInputStream(pcmFormat, sourceStream)) {
+                byte[] bytes = readAll(pcmStream);
+                int frames = bytes.length / (sourceChannels * 2);
+                short[] samples = new short[frames * SoftwareMixer.CHANNELS];
+                for (int frame = 0; frame < frames; frame++) {
+                    int offset = frame * sourceChannels * 2;
+                    short left = (short) ((bytes[offset] & 0xff) | (bytes[offset + 1] << 8));
+                    short right = sourceChannels > 1
+                            ? (short) ((bytes[offset + 2] & 0xff) | (bytes[offset + 3] << 8)) : left;
+                    samples[frame * SoftwareMixer.CHANNELS] = left;
+                    samples[frame * SoftwareMixer.CHANNELS + 1] = right;
+                }
+                if (pcmFormat.getSampleRate() != SoftwareMixer.SAMPLE_RATE) {
+                    samples = resample(samples, pcmFormat.getSampleRate());
+                }
+                return new PcmSound(samples);
+            }
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException ex) {
+            LOGGER.error("Exception occurred in decode() for " + soundType + ".", ex);
+        }
+        return new PcmSound(new short[0]);
+    }
+
+    /**
+     * Reads the remaining bytes of the given stream.
+     *
+     * @param inputStream the stream
+     * @return the bytes
+     * @throws IOException if the stream cannot be read
+     */
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) > 0) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Converts interleaved stereo samples to the mix sample rate with linear interpolation.
+     *
+     * @param samples the interleaved stereo samples
+     * @param sourceRate the sample rate of the samples
+     * @return the resampled samples
+     */
+    private static short[] resample(short[] samples, float sourceRate) {
+        int sourceFrames = samples.length / SoftwareMixer.CHANNELS;
+        int frames = (int) ((long) sourceFrames * SoftwareMixer.SAMPLE_RATE / sourceRate);
+        short[] resampled = new short[frames * SoftwareMixer.CHANNELS];
+        double step = sourceRate / SoftwareMixer.SAMPLE_RATE;
+        for (int frame = 0; frame < frames; frame++) {
+            double position = frame * step;
+            int index = (int) position;
+            int next = Math.min(index + 1, sourceFrames - 1);
+            double fraction = position - index;
+            for (int channel = 0; channel < SoftwareMixer.CHANNELS; channel++) {
+                resampled[frame * SoftwareMixer.CHANNELS + channel] = (short) Math.round(
+                        samples[index * SoftwareMixer.CHANNELS + channel] * (1 - fraction)
+                        + samples[next * SoftwareMixer.CHANNELS + channel] * fraction);
+            }
+        }
+        return resampled;
+    }
+
     /**
      * Retrieves the sound input stream for the specified type.
      *
      * @param soundType the sound type
-     * @return the sound input
+     * @return the sound input or null if the sound resource does not exist
      */
     public static BufferedInputStream getAudioInput(SoundType soundType) {
         BufferedInputStream inputStream = null;
         switch (soundType) {
             case LASER:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        LASER_SHOT_URL));
+                inputStream = open(LASER_SHOT_URL);
                 break;
             case EXPLOSION:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        EXPLOSION_URL));
+                inputStream = open(EXPLOSION_URL);
                 break;
             case BUILD_UP:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        BUILD_UP_URL));
+                inputStream = open(BUILD_UP_URL);
                 break;
             case GAME_LOST:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        GAME_LOST_URL));
+                inputStream = open(GAME_LOST_URL);
                 break;
             case VICTORY:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        VICTORY_URL));
+                inputStream = open(VICTORY_URL);
                 break;
             case BACKGROUND:
-                inputStream = new BufferedInputStream(SoundFactory.class.getClassLoader().getResourceAsStream(
-                        BACKGROUND_URL));
+                inputStream = open(BACKGROUND_URL);
                 break;
             default:
                 break;
         }
         return inputStream;
     }
+
+    /**
+     * Opens the sound resource at the given location.
+     *
+     * @param url the location of the resource
+     * @return the buffered resource stream or null if the resource does not exist
+     */
+    private static BufferedInputStream open(String url) {
+        InputStream resourceStream = SoundFactory.class.getClassLoader().getResourceAsStream(url);
+        return resourceStream == null ? null : new BufferedInputStream(resourceStream);
+    }
 }
@@ -15,16 +15,6 @@
  */
 package com.daniel.alienintruders.sound;
 
-import java.io.IOException;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * Responsible for playing the victory sound.
  *
@@ -32,30 +22,12 @@ import org.apache.logging.log4j.Logger;
  */
 public final class VictoryAudioPlayer extends AudioPlayer {
 
-    /**
-     * The logger for this class
-     */
-    private final Logger logger;
-
     /**
      * Initializes the audio player.
+     *
+     * @param mixer the mixer playing the sound
      */
-    public VictoryAudioPlayer() {
-        super();
-        logger = LogManager.getLogger(VictoryAudioPlayer.class);
-        initialize();
-    }
-
-    @Override
-    protected void initialize() {
-        try {
-            audioInputStream = AudioSystem.getAudioInputStream(SoundFactory.getAudioInput(SoundType.VICTORY));
-            AudioFormat format = audioInputStream.getFormat();
-            DataLine.Info dataLineInfo = new DataLine.Info(Clip.class, format);
-            clip = (Clip) AudioSystem.getLine(dataLineInfo);
-            clip.open(audioInputStream);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            logger.error("Exception occurred in VictoryAudioPlayer.initialize().", ex);
-        }
+    public VictoryAudioPlayer(SoftwareMixer mixer) {
+        super(mixer, SoundType.VICTORY, FULL_GAIN, false);
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sound;
+
+import com.daniel.alienintruders.jfr.AudioPlaybackEvent;
+
+/**
+ * A voice of the software mixer playing one sound. Voices are reused and are only accessed while holding the lock of
+ * the mixer's voice array.
+ *
+ * @author Bryan Daniel
+ */
+class Voice {
+
+    /**
+     * The type of the sound being played or null if the voice is free
+     */
+    private SoundType soundType;
+
+    /**
+     * The sound being played
+     */
+    private PcmSound sound;
+
+    /**
+     * The next frame to mix
+     */
+    private int position;
+
+    /**
+     * The gain applied to the sound
+     */
+    private float gain;
+
+    /**
+     * Indicates whether or not the sound restarts when it ends
+     */
+    private boolean looping;
+
+    /**
+     * The order in which the voice was started, used to pick the oldest voice to steal
+     */
+    private long startOrder;
+
+    /**
+     * The playback event committed when the voice is first written to the line or null if none is pending
+     */
+    private AudioPlaybackEvent playbackEvent;
+
+    /**
+     * Starts playing the given sound from its beginning.
+     *
+     * @param soundType the type of the sound
+     * @param sound the sound
+     * @param gain the gain applied to the sound
+     * @param looping true if the sound restarts when it ends, false otherwise
+     * @param startOrder the order in which the voice was started
+     * @param playbackEvent the playback event or null if none is recorded
+     */
+    void start(SoundType soundType, PcmSound sound, float gain, boolean looping, long startOrder,
+            AudioPlaybackEvent playbackEvent) {
+        this.soundType = soundType;
+        this.sound = sound;
+        this.gain = gain;
+        this.looping = looping;
+        this.startOrder = startOrder;
+        this.playbackEvent = playbackEvent;
+        position = 0;
+    }
+
+    /**
+     * Frees the voice.
+     */
+    void stop() {
+        soundType = null;
+        sound = null;
+        playbackEvent = null;
+    }
+
+    /**
+     * Adds the given number of frames of this voice to the mix buffer and frees the voice when its sound ends.
+     *
+     * @param mixBuffer the interleaved stereo mix buffer
+     * @param frames the number of frames to mix
+     */
+    void mixInto(int[] mixBuffer, int frames) {
+        int frameCount = sound.getFrameCount();
+        for (int frame = 0; frame < frames; frame++) {
+            if (position >= frameCount) {
+                if (!looping || frameCount == 0) {
+                    soundType = null;
+                    sound = null;
+                    return;
+                }
+                position = 0;
+            }
+            int sample = position * SoftwareMixer.CHANNELS;
+            mixBuffer[frame * SoftwareMixer.CHANNELS] += (int) (sound.getSample(sample) * gain);
+            mixBuffer[frame * SoftwareMixer.CHANNELS + 1] += (int) (sound.getSample(sample + 1) * gain);
+            position++;
+        }
+    }
+
+    /**
+     * Returns the pending playback event and clears it.
+     *
+     * @return the playback event or null if none is pending
+     */
+    AudioPlaybackEvent takePlaybackEvent() {
+        AudioPlaybackEvent event = playbackEvent;
+        playbackEvent = null;
+        return event;
+    }
+
+    /**
+     * Indicates whether or not the voice is playing a sound.
+     *
+     * @return true if the voice is playing, false if it is free
+     */
+    boolean isActive() {
+        return soundType != null;
+    }
+
+    /**
+     * Gets the value of soundType.
+     *
+     * @return the type of the sound being played or null if the voice is free
+     */
+    SoundType getSoundType() {
+        return soundType;
+    }
+
+    /**
+     * Gets the value of looping.
+     *
+     * @return true if the sound restarts when it ends, false otherwise
+     */
+    boolean isLooping() {
+        return looping;
+    }
+
+    /**
+     * Gets the value of startOrder.
+     *
+     * @return the order in which the voice was started
+     */
+    long getStartOrder() {
+        return startOrder;
+    }
+}
@@ -15,17 +15,15 @@
  */
 package com.daniel.alienintruders.sprite;
 
-import com.daniel.alienintruders.image.ImageFactory;
-import com.daniel.alienintruders.image.ImageType;
-import com.daniel.alienintruders.view.GamePanel;
-import java.awt.Rectangle;
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.pool.Poolable;
 
 /**
  * The weapon fired by the alien.
  *
  * @author Bryan Daniel
  */
-public class AlienMissile extends Sprite {
+public class AlienMissile extends Sprite implements Poolable {
 
     /**
      * The width of the laser
@@ -53,19 +51,32 @@ public class AlienMissile extends Sprite {
         setX(x);
         setY(y);
         this.missileRoute = missileRoute;
-        setImage(ImageFactory.createImage(ImageType.ALIEN_MISSILE).getImage());
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(getX(), getY(), MISSILE_WIDTH, MISSILE_HEIGHT);
+    public void reset() {
+        setDead(false);
+        setX(0);
+        setY(0);
+        setDeltaX(0);
+        missileRoute = null;
+    }
+
+    @Override
+    public int getWidth() {
+        return MISSILE_WIDTH;
+    }
+
+    @Override
+    public int getHeight() {
+        return MISSILE_HEIGHT;
     }
 
     @Override
     public void move() {
         setY((int) (getY() + missileRoute.getDeltaY()));
         setX((int) (getX() + missileRoute.getDeltaX()));
-        if (getY() > GamePanel.PANEL_HEIGHT || getX() > GamePanel.PANEL_WIDTH || getX() < 0) {
+        if (getY() > GameContext.FIELD_HEIGHT || getX() > GameContext.FIELD_WIDTH || getX() < 0) {
             die();
         }
     }
@@ -0,0 +1,583 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sprite;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.database.entity.AlienWave;
+import com.daniel.alienintruders.pool.ObjectPool;
+import java.util.BitSet;
+
+/**
+ * The swarm of alien intruders determined to crush humanity. The state of every alien is held in primitive arrays
+ * indexed by the position of the alien in the formation, row by row, so the game loop and the renderer iterate the
+ * swarm linearly without creating an object per alien. The formation moves as a unit, steered by its leftmost and
+ * rightmost living columns, which are updated as aliens die.
+ *
+ * @author Bryan Daniel
+ */
+public class AlienSwarm {
+
+    /**
+     * The width of an alien
+     */
+    public static final int ALIEN_WIDTH = 34;
+
+    /**
+     * The height of an alien
+     */
+    public static final int ALIEN_HEIGHT = 34;
+
+    /**
+     * The beginning x coordinate of the first alien
+     */
+    public static final int ALIEN_INIT_X = 450;
+
+    /**
+     * The beginning y coordinate of the first alien
+     */
+    public static final int ALIEN_INIT_Y = 40;
+
+    /**
+     * The distance between the aliens of the formation
+     */
+    public static final int ALIEN_SPACING = 50;
+
+    /**
+     * Normal speed for the aliens
+     */
+    public static final int NORMAL_ALIEN_MOVEMENT = 2;
+
+    /**
+     * Fast speed for the aliens
+     */
+    public static final int FAST_ALIEN_MOVEMENT = 6;
+
+    /**
+     * The number of missiles each alien is loaded with
+     */
+    public static final int MISSILES_PER_ALIEN = 5;
+
+    /**
+     * The largest number of missiles in flight at the same time
+     */
+    public static final int MAX_MISSILES_IN_FLIGHT = 256;
+
+    /**
+     * The game context
+     */
+    private final GameContext gameContext;
+
+    /**
+     * The number of rows in the formation
+     */
+    private final int rows;
+
+    /**
+     * The number of columns in the formation
+     */
+    private final int columns;
+
+    /**
+     * The x coordinates of the aliens
+     */
+    private final int[] x;
+
+    /**
+     * The y coordinates of the aliens
+     */
+    private final int[] y;
+
+    /**
+     * The set bits mark the living aliens
+     */
+    private final BitSet alive;
+
+    /**
+     * The number of living aliens
+     */
+    private int livingCount;
+
+    /**
+     * The time in milliseconds until each alien prepares the next missile launch
+     */
+    private final int[] missileCooldown;
+
+    /**
+     * The number of missiles each alien has left
+     */
+    private final int[] missilesLoaded;
+
+    /**
+     * The points awarded for the death of each alien
+     */
+    private final int[] points;
+
+    /**
+     * The missile in flight for each alien or null if the alien has none
+     */
+    private final AlienMissile[] firedMissiles;
+
+    /**
+     * The pool of missiles
+     */
+    private final ObjectPool<AlienMissile> missilePool;
+
+    /**
+     * The pool of missile routes
+     */
+    private final ObjectPool<MissileRoute> missileRoutePool;
+
+    /**
+     * The number of living aliens in each column
+     */
+    private final int[] columnLivingCount;
+
+    /**
+     * The index of the leftmost column with a living alien or -1 if all aliens are dead
+     */
+    private int leftColumn;
+
+    /**
+     * The index of the rightmost column with a living alien or -1 if all aliens are dead
+     */
+    private int rightColumn;
+
+    /**
+     * The x coordinate of the first column of the formation
+     */
+    private int formationX;
+
+    /**
+     * Used to measure approach movement
+     */
+    private int approach = 0;
+
+    /**
+     * Indicates whether or not the aliens are moving to the left
+     */
+    private boolean movingLeft = true;
+
+    /**
+     * The maximum activation time in milliseconds
+     */
+    private int activationTimeLimit = 22000;
+
+    /**
+     * The translation value of the aliens
+     */
+    private int alienMovement = NORMAL_ALIEN_MOVEMENT;
+
+    /**
+     * The translation of the fired missiles
+     */
+    private final int missileSpeed;
+
+    /**
+     * Indicates whether or not the swarm is in kamikazi mode
+     */
+    private boolean kamikaziMode = false;
+
+    /**
+     * Creates the formation for the given alien wave.
+     *
+     * @param gameContext the game context
+     * @param alienWave the alien wave
+     */
+    public AlienSwarm(GameContext gameContext, AlienWave alienWave) {
+        this.gameContext = gameContext;
+        rows = alienWave.getNumberOfRows();
+        columns = alienWave.getNumberOfColumns();
+        int count = rows * columns;
+        x = new int[count];
+        y = new int[count];
+        alive = new BitSet(count);
+        missileCooldown = new int[count];
+        missilesLoaded = new int[count];
+        points = new int[count];
+        firedMissiles = new AlienMissile[count];
+        columnLivingCount = new int[columns];
+        int missileCapacity = Math.min(count, MAX_MISSILES_IN_FLIGHT);
+        missilePool = new ObjectPool<>("missile", missileCapacity, AlienMissile::new);
+        missileRoutePool = new ObjectPool<>("missile route", missileCapacity, MissileRoute::new);
+        missileSpeed = alienWave.getMissileSpeed();
+        for (int i = 0; i < count; i++) {
+            x[i] = ALIEN_INIT_X + ALIEN_SPACING * (i % columns);
+            y[i] = ALIEN_INIT_Y + ALIEN_SPACING * (i / columns);
+            missileCooldown[i] = (int) (Math.random() * activationTimeLimit);
+            missilesLoaded[i] = MISSILES_PER_ALIEN;
+            points[i] = alienWave.getPoints();
+            columnLivingCount[i % columns]++;
+        }
+        alive.set(0, count);
+        livingCount = count;
+        formationX = ALIEN_INIT_X;
+        leftColumn = count > 0 ? 0 : -1;
+        rightColumn = count > 0 ? columns - 1 : -1;
+    }
+
+    /**
+     * Launches a missile attack from the alien at the given index if it has no missile in flight and its missile
+     * launch is prepared. If the missile or route pool is exhausted, the launch is retried on the next tick.
+     *
+     * @param index the alien index
+     */
+    public void fireMissile(int index) {
+        if (gameContext.isGameRunning() && firedMissiles[index] == null) {
+            if (missilesLoaded[index] > 0) {
+                if (missileCooldown[index] < 0) {
+                    AlienMissile firedMissile = missilePool.acquire();
+                    if (firedMissile == null) {
+                        return;
+                    }
+                    MissileRoute missileRoute = determineMissileRoute(index, missileSpeed);
+                    if (missileRoute == null) {
+                        missilePool.release(firedMissile);
+                        return;
+                    }
+                    firedMissile.initialize(x[index] + ALIEN_WIDTH / 2, y[index] + ALIEN_HEIGHT / 2, missileRoute);
+                    firedMissiles[index] = firedMissile;
+                    missilesLoaded[index]--;
+                    missileCooldown[index] = (int) (Math.random() * activationTimeLimit);
+                } else {
+                    missileCooldown[index] -= GameContext.TICK_DURATION;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the missile of the alien at the given index and its route to their pools.
+     *
+     * @param index the alien index
+     */
+    public void releaseMissile(int index) {
+        AlienMissile firedMissile = firedMissiles[index];
+        if (firedMissile != null) {
+            firedMissiles[index] = null;
+            missileRoutePool.release(firedMissile.getMissileRoute());
+            missilePool.release(firedMissile);
+        }
+    }
+
+    /**
+     * Moves the formation by one step, turning and approaching when its living edge reaches the side of the playing
+     * field.
+     */
+    public void move() {
+        if (livingCount == 0) {
+            return;
+        }
+
+        // finding the left and right edges of the living aliens
+        int leftmostAlienLocation = formationX + leftColumn * ALIEN_SPACING - alienMovement;
+        int rightmostAlienLocation = formationX + rightColumn * ALIEN_SPACING + ALIEN_WIDTH + alienMovement;
+
+        // determining the translation
+        int deltaX = 0;
+        int deltaY = 0;
+        if (movingLeft && leftmostAlienLocation < 0 && approach < ALIEN_HEIGHT) {
+            deltaY = alienMovement;
+            approach += alienMovement;
+        } else if (movingLeft && leftmostAlienLocation < 0 && approach >= ALIEN_HEIGHT) {
+            approach = 0;
+            deltaX = alienMovement;
+            movingLeft = false;
+        } else if (!movingLeft && rightmostAlienLocation > GameContext.FIELD_WIDTH && approach < ALIEN_HEIGHT) {
+            deltaY = alienMovement;
+            approach += alienMovement;
+        } else if (!movingLeft && rightmostAlienLocation > GameContext.FIELD_WIDTH && approach >= ALIEN_HEIGHT) {
+            approach = 0;
+            deltaX = -alienMovement;
+            movingLeft = true;
+        } else if (movingLeft) {
+            deltaX = -alienMovement;
+        } else {
+            deltaX = alienMovement;
+        }
+
+        // translating the formation
+        formationX += deltaX;
+        if (deltaX != 0) {
+            for (int i = 0; i < x.length; i++) {
+                x[i] += deltaX;
+            }
+        }
+        if (deltaY != 0) {
+            for (int i = 0; i < y.length; i++) {
+                y[i] += deltaY;
+            }
+        }
+    }
+
+    /**
+     * Determines the missile route from the alien at the given index to the spaceship. The route is acquired from
+     * the route pool and must be released to it by the caller.
+     *
+     * @param index the index of the attacking alien
+     * @param missileSpeed the missile speed
+     * @return the missile route data or null if the route pool is exhausted
+     */
+    MissileRoute determineMissileRoute(int index, int missileSpeed) {
+        MissileRoute missileRoute = missileRoutePool.acquire();
+        if (missileRoute == null) {
+            return null;
+        }
+
+        // get the alien coordinates
+        int alienX = x[index] + ALIEN_WIDTH / 2;
+        int alienY = y[index] + ALIEN_HEIGHT / 2;
+
+        // get the spaceship coordinates
+        Spaceship spaceship = gameContext.getSpaceship();
+        int spaceshipX = spaceship.getX() + Spaceship.SPACESHIP_WIDTH / 2;
+        int spaceshipY = spaceship.getY() + Spaceship.SPACESHIP_HEIGHT / 2;
+
+        // find the x and y distances
+        int distanceX = spaceshipX - alienX;
+        int distanceY = spaceshipY - alienY;
+
+        // calculate the x and y translations
+        if (Math.abs(distanceX) > Math.abs(distanceY)) {
+            if (distanceX < 0) {
+                missileRoute.setDeltaX(-missileSpeed);
+            } else {
+                missileRoute.setDeltaX(missileSpeed);
+            }
+            missileRoute.setDeltaY((distanceY * missileSpeed) / Math.abs(distanceX));
+        } else {
+            missileRoute.setDeltaX((distanceX * missileSpeed) / distanceY);
+            missileRoute.setDeltaY(missileSpeed);
+        }
+
+        return missileRoute;
+    }
+
+    /**
+     * Determines if the alien at the given index is colliding with the given sprite.
+     *
+     * @param index the alien index
+     * @param sprite the sprite
+     * @return true if colliding, false otherwise
+     */
+    public boolean intersects(int index, Sprite sprite) {
+        return x[index] < sprite.getRight() && sprite.getX() < x[index] + ALIEN_WIDTH
+                && y[index] < sprite.getBottom() && sprite.getY() < y[index] + ALIEN_HEIGHT;
+    }
+
+    /**
+     * Kills the alien at the given index.
+     *
+     * @param index the alien index
+     */
+    public void kill(int index) {
+        if (alive.get(index)) {
+            alive.clear(index);
+            livingCount--;
+            int column = index % columns;
+            columnLivingCount[column]--;
+            if (livingCount == 0) {
+                leftColumn = -1;
+                rightColumn = -1;
+            } else if (columnLivingCount[column] == 0) {
+                while (columnLivingCount[leftColumn] == 0) {
+                    leftColumn++;
+                }
+                while (columnLivingCount[rightColumn] == 0) {
+                    rightColumn--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates whether or not the alien at the given index is alive.
+     *
+     * @param index the alien index
+     * @return true if the alien is alive, false otherwise
+     */
+    public boolean isAlive(int index) {
+        return alive.get(index);
+    }
+
+    /**
+     * Returns the index of the first living alien at or after the given index.
+     *
+     * @param fromIndex the index to start from
+     * @return the index of the living alien or -1 if there is none
+     */
+    public int nextAlive(int fromIndex) {
+        return alive.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Indicates whether or not the alien at the given index is alive and has missiles left.
+     *
+     * @param index the alien index
+     * @return true if the alien has missiles, false otherwise
+     */
+    public boolean isArmed(int index) {
+        return alive.get(index) && missilesLoaded[index] > 0;
+    }
+
+    /**
+     * Gets the number of aliens in the formation, living or dead.
+     *
+     * @return the alien count
+     */
+    public int getCount() {
+        return x.length;
+    }
+
+    /**
+     * Gets the value of livingCount.
+     *
+     * @return the number of living aliens
+     */
+    public int getLivingCount() {
+        return livingCount;
+    }
+
+    /**
+     * Gets the value of rows.
+     *
+     * @return the number of rows in the formation
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the value of columns.
+     *
+     * @return the number of columns in the formation
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the value of leftColumn.
+     *
+     * @return the index of the leftmost column with a living alien or -1 if all aliens are dead
+     */
+    public int getLeftColumn() {
+        return leftColumn;
+    }
+
+    /**
+     * Gets the value of rightColumn.
+     *
+     * @return the index of the rightmost column with a living alien or -1 if all aliens are dead
+     */
+    public int getRightColumn() {
+        return rightColumn;
+    }
+
+    /**
+     * Gets the x coordinate of the alien at the given index.
+     *
+     * @param index the alien index
+     * @return the x coordinate
+     */
+    public int getX(int index) {
+        return x[index];
+    }
+
+    /**
+     * Gets the y coordinate of the alien at the given index.
+     *
+     * @param index the alien index
+     * @return the y coordinate
+     */
+    public int getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Gets the points awarded for the death of the alien at the given index.
+     *
+     * @param index the alien index
+     * @return the points
+     */
+    public int getPoints(int index) {
+        return points[index];
+    }
+
+    /**
+     * Gets the missile fired by the alien at the given index.
+     *
+     * @param index the alien index
+     * @return the missile in flight or null if the alien has none
+     */
+    public AlienMissile getFiredMissile(int index) {
+        return firedMissiles[index];
+    }
+
+    /**
+     * Gets the value of missilePool.
+     *
+     * @return the pool of missiles
+     */
+    public ObjectPool<AlienMissile> getMissilePool() {
+        return missilePool;
+    }
+
+    /**
+     * Gets the value of missileRoutePool.
+     *
+     * @return the pool of missile routes
+     */
+    public ObjectPool<MissileRoute> getMissileRoutePool() {
+        return missileRoutePool;
+    }
+
+    /**
+     * Gets the value of activationTimeLimit.
+     *
+     * @return the maximum time limit for missile activation
+     */
+    public int getActivationTimeLimit() {
+        return activationTimeLimit;
+    }
+
+    /**
+     * Sets the value of activationTimeLimit.
+     *
+     * @param activationTimeLimit the new activationTimeLimit to set
+     */
+    public void setActivationTimeLimit(int activationTimeLimit) {
+        this.activationTimeLimit = activationTimeLimit;
+    }
+
+    /**
+     * Gets the value for kamikaziMode.
+     *
+     * @return the flag for kamikazi mode
+     */
+    public boolean isKamikaziMode() {
+        return kamikaziMode;
+    }
+
+    /**
+     * Sets the value for kamikazi mode and increases the alien movement speed.
+     *
+     * @param kamikaziMode the new kamikaziMode to set
+     */
+    public void setKamikaziMode(boolean kamikaziMode) {
+        this.kamikaziMode = kamikaziMode;
+        alienMovement = FAST_ALIEN_MOVEMENT;
+    }
+}
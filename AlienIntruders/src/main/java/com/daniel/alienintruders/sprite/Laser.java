@@ -15,16 +15,14 @@
  */
 package com.daniel.alienintruders.sprite;
 
-import com.daniel.alienintruders.image.ImageFactory;
-import com.daniel.alienintruders.image.ImageType;
-import java.awt.Rectangle;
+import com.daniel.alienintruders.pool.Poolable;
 
 /**
  * The laser beam fired by the spaceship.
  *
  * @author Bryan Daniel
  */
-public class Laser extends Sprite {
+public class Laser extends Sprite implements Poolable {
 
     /**
      * The width of the laser
@@ -41,6 +39,12 @@ public class Laser extends Sprite {
      */
     public static final int LASER_VERTICAL_MOVEMENT = -10;
 
+    /**
+     * Creates a laser for a laser pool.
+     */
+    public Laser() {
+    }
+
     /**
      * Initializes this laser.
      *
@@ -54,18 +58,30 @@ public class Laser extends Sprite {
     /**
      * Initializes variables for this laser.
      *
-     * @param x the x coordinate
-     * @param y the y coordinate
+     * @param x the x coordinate of the firing spaceship
+     * @param y the y coordinate of the firing spaceship
      */
-    private void initialize(int x, int y) {
-        setImage(ImageFactory.createImage(ImageType.SPACESHIP_LASER).getImage());
+    public void initialize(int x, int y) {
         setX(x + Spaceship.SPACESHIP_WIDTH / 2);
         setY(y);
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(getX(), getY(), LASER_WIDTH, LASER_HEIGHT);
+    public void reset() {
+        setDead(false);
+        setX(0);
+        setY(0);
+        setDeltaX(0);
+    }
+
+    @Override
+    public int getWidth() {
+        return LASER_WIDTH;
+    }
+
+    @Override
+    public int getHeight() {
+        return LASER_HEIGHT;
     }
 
     @Override
@@ -15,12 +15,14 @@
  */
 package com.daniel.alienintruders.sprite;
 
+import com.daniel.alienintruders.pool.Poolable;
+
 /**
  * Contains data to set the route for an alien missile.
  *
  * @author Bryan Daniel
  */
-public class MissileRoute {
+public class MissileRoute implements Poolable {
 
     /**
      * The change in x to travel to the target
@@ -32,6 +34,12 @@ public class MissileRoute {
      */
     private double deltaY;
 
+    @Override
+    public void reset() {
+        deltaX = 0;
+        deltaY = 0;
+    }
+
     /**
      * Gets the value of deltaX;
      *
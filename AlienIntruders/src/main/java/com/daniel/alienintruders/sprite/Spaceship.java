@@ -16,11 +16,9 @@
 package com.daniel.alienintruders.sprite;
 
 import com.daniel.alienintruders.context.GameContext;
-import com.daniel.alienintruders.image.ImageFactory;
-import com.daniel.alienintruders.image.ImageType;
-import com.daniel.alienintruders.view.GamePanel;
-import java.awt.Rectangle;
+import com.daniel.alienintruders.pool.ObjectPool;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the hero of Alien Intruders, defending humanity from merciless alien beings.
@@ -44,6 +42,26 @@ public class Spaceship extends Sprite {
      */
     public static final int SPACESHIP_MOVEMENT = 4;
 
+    /**
+     * The number of pooled lasers
+     */
+    public static final int LASER_POOL_CAPACITY = 2;
+
+    /**
+     * The input bit held while the ship is steered left
+     */
+    public static final int INPUT_LEFT = 1;
+
+    /**
+     * The input bit held while the ship is steered right
+     */
+    public static final int INPUT_RIGHT = 2;
+
+    /**
+     * The input bit latched when a laser is requested and cleared by the next tick
+     */
+    public static final int INPUT_FIRE = 4;
+
     /**
      * The game context
      */
@@ -52,12 +70,17 @@ public class Spaceship extends Sprite {
     /**
      * The laser fired by the spaceship
      */
-    private Laser laser;
+    private volatile Laser laser;
+
+    /**
+     * The input bits written by the input thread and applied by the game loop at the start of each tick
+     */
+    private final AtomicInteger inputState = new AtomicInteger();
 
     /**
-     * The flag for a death explosion
+     * The pool of lasers
      */
-    private boolean explode = false;
+    private final ObjectPool<Laser> laserPool = new ObjectPool<>("laser", LASER_POOL_CAPACITY, Laser::new);
 
     /**
      * Sets the value for the game context and initializes the spaceship.
@@ -73,9 +96,8 @@ public class Spaceship extends Sprite {
      * Initializes variables for the spaceship.
      */
     private void initialize() {
-        setImage(ImageFactory.createImage(ImageType.SPACESHIP).getImage());
-        int startX = GamePanel.PANEL_WIDTH / 2 - SPACESHIP_WIDTH / 2;
-        int startY = GamePanel.PANEL_HEIGHT - 100;
+        int startX = GameContext.FIELD_WIDTH / 2 - SPACESHIP_WIDTH / 2;
+        int startY = GameContext.FIELD_HEIGHT - 100;
         setX(startX);
         setY(startY);
     }
@@ -86,8 +108,8 @@ public class Spaceship extends Sprite {
         if (getX() < 0) {
             setX(0);
         }
-        if ((getX() + SPACESHIP_WIDTH) > GamePanel.PANEL_WIDTH) {
-            setX(GamePanel.PANEL_WIDTH - SPACESHIP_WIDTH);
+        if ((getX() + SPACESHIP_WIDTH) > GameContext.FIELD_WIDTH) {
+            setX(GameContext.FIELD_WIDTH - SPACESHIP_WIDTH);
         }
     }
 
@@ -99,20 +121,70 @@ public class Spaceship extends Sprite {
     public void keyPressed(KeyEvent keyEvent) {
         int key = keyEvent.getKeyCode();
         if (key == KeyEvent.VK_LEFT) {
-            setDeltaX(-SPACESHIP_MOVEMENT);
+            pressInput(INPUT_LEFT);
         }
         if (key == KeyEvent.VK_RIGHT) {
-            setDeltaX(SPACESHIP_MOVEMENT);
+            pressInput(INPUT_RIGHT);
         }
         if (key == KeyEvent.VK_SPACE) {
-            if (gameContext.isGameRunning() && !isDead() && (laser == null || laser.
-                    isDead())) {
-                laser = new Laser(getX(), getY());
-                new Thread(() -> {
-                    gameContext.getLaserAudioPlayer().playSound();
-                }).start();
-            }
+            pressInput(INPUT_FIRE);
+        }
+    }
+
+    /**
+     * Sets the given input bits. Safe to call from any thread.
+     *
+     * @param input the input bits to set
+     */
+    public void pressInput(int input) {
+        int current;
+        do {
+            current = inputState.get();
+        } while (!inputState.compareAndSet(current, current | input));
+    }
+
+    /**
+     * Clears the given input bits. Safe to call from any thread.
+     *
+     * @param input the input bits to clear
+     */
+    public void releaseInput(int input) {
+        int current;
+        do {
+            current = inputState.get();
+        } while (!inputState.compareAndSet(current, current & ~input));
+    }
+
+    /**
+     * Applies the input received since the last tick by steering the ship and firing a requested laser. Must be
+     * called on the game loop thread, which owns the ship, the lasers and their pool.
+     *
+     * @return true if a laser was fired, false otherwise
+     */
+    public boolean applyInput() {
+        int input;
+        do {
+            input = inputState.get();
+        } while (!inputState.compareAndSet(input, input & ~INPUT_FIRE));
+        int direction = ((input & INPUT_RIGHT) != 0 ? 1 : 0) - ((input & INPUT_LEFT) != 0 ? 1 : 0);
+        setDeltaX(direction * SPACESHIP_MOVEMENT);
+        return (input & INPUT_FIRE) != 0 && fireLaser();
+    }
+
+    /**
+     * Fires a laser if the game is running and no other laser is in flight. Must be called on the game loop thread.
+     *
+     * @return true if a laser was fired, false otherwise
+     */
+    private boolean fireLaser() {
+        if (gameContext.isGameRunning() && !isDead() && (laser == null || laser.isDead())) {
+            laserPool.release(laser);
+            Laser firedLaser = laserPool.acquire();
+            firedLaser.initialize(getX(), getY());
+            laser = firedLaser;
+            return true;
         }
+        return false;
     }
 
     /**
@@ -123,15 +195,22 @@ public class Spaceship extends Sprite {
     public void keyReleased(KeyEvent keyEvent) {
         int key = keyEvent.getKeyCode();
         if (key == KeyEvent.VK_LEFT) {
-            setDeltaX(0);
+            releaseInput(INPUT_LEFT);
         }
         if (key == KeyEvent.VK_RIGHT) {
-            setDeltaX(0);
-        }
-        if (key == KeyEvent.VK_SPACE) {
+            releaseInput(INPUT_RIGHT);
         }
     }
 
+    /**
+     * Gets the value of laserPool.
+     *
+     * @return the pool of lasers
+     */
+    public ObjectPool<Laser> getLaserPool() {
+        return laserPool;
+    }
+
     /**
      * Gets the value of laser.
      *
@@ -142,25 +221,12 @@ public class Spaceship extends Sprite {
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(getX(), getY(), SPACESHIP_WIDTH, SPACESHIP_HEIGHT);
+    public int getWidth() {
+        return SPACESHIP_WIDTH;
     }
 
-    /**
-     * Gets the value of explode.
-     *
-     * @return the flag for a death explosion
-     */
-    public boolean isExplode() {
-        return explode;
-    }
-
-    /**
-     * Sets the value of explode.
-     *
-     * @param explode the new value of explode to set
-     */
-    public void setExplode(boolean explode) {
-        this.explode = explode;
+    @Override
+    public int getHeight() {
+        return SPACESHIP_HEIGHT;
     }
 }
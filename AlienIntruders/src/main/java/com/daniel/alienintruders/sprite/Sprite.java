@@ -15,7 +15,6 @@
  */
 package com.daniel.alienintruders.sprite;
 
-import java.awt.Image;
 import java.awt.Rectangle;
 
 /**
@@ -25,11 +24,6 @@ import java.awt.Rectangle;
  */
 public abstract class Sprite {
 
-    /**
-     * The image for the sprite
-     */
-    private Image image;
-
     /**
      * Indicates whether or not the sprite has died
      */
@@ -71,39 +65,68 @@ public abstract class Sprite {
      * @return true if colliding, false otherwise
      */
     public boolean isColliding(Sprite otherSprite) {
-        return getBounds().intersects(otherSprite.getBounds());
+        return intersects(otherSprite);
     }
 
     /**
-     * Returns the bounds for this sprite.
+     * Determines if the bounds of this sprite intersect the bounds of the given sprite. The coordinates are compared
+     * directly with the same rules as java.awt.Rectangle, so no objects are created.
+     *
+     * @param otherSprite the given sprite
+     * @return true if the bounds intersect, false otherwise
+     */
+    public boolean intersects(Sprite otherSprite) {
+        return x < otherSprite.getRight() && otherSprite.x < getRight()
+                && y < otherSprite.getBottom() && otherSprite.y < getBottom();
+    }
+
+    /**
+     * Returns the bounds for this sprite. This creates a new Rectangle on every call, so the game loop uses the
+     * primitive bounds accessors instead.
      *
      * @return the Rectangle object
      */
-    public abstract Rectangle getBounds();
+    public Rectangle getBounds() {
+        return new Rectangle(x, y, getWidth(), getHeight());
+    }
 
     /**
-     * Defines movement for the sprite.
+     * Returns the width of this sprite.
+     *
+     * @return the width
      */
-    public abstract void move();
+    public abstract int getWidth();
+
+    /**
+     * Returns the height of this sprite.
+     *
+     * @return the height
+     */
+    public abstract int getHeight();
 
     /**
-     * Gets the value of image.
+     * Returns the x coordinate of the right edge, exclusive.
      *
-     * @return the image
+     * @return the right edge
      */
-    public Image getImage() {
-        return image;
+    public int getRight() {
+        return x + getWidth();
     }
 
     /**
-     * Sets the value of image.
+     * Returns the y coordinate of the bottom edge, exclusive.
      *
-     * @param image the new image to set
+     * @return the bottom edge
      */
-    public void setImage(Image image) {
-        this.image = image;
+    public int getBottom() {
+        return y + getHeight();
     }
 
+    /**
+     * Defines movement for the sprite.
+     */
+    public abstract void move();
+
     /**
      * Gets the value of dead.
      *
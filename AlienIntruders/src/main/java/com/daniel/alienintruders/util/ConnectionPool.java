@@ -0,0 +1,638 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A small bounded pool of JDBC connections. Connections handed out are proxies whose close() returns the physical
+ * connection to the pool, and each physical connection keeps a cache of prepared statements whose close() keeps the
+ * statement for the next use of the same SQL. Statements returning generated keys are cached separately from plain
+ * statements for the same SQL. Idle connections are validated before they are reused.
+ *
+ * @author Bryan Daniel
+ */
+public class ConnectionPool {
+
+    /**
+     * The default maximum number of physical connections
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    /**
+     * The maximum number of prepared statements cached per connection
+     */
+    public static final int STATEMENT_CACHE_SIZE = 16;
+
+    /**
+     * The prefix of the cache keys of statements returning generated keys
+     */
+    private static final String GENERATED_KEYS_PREFIX = "KEYS:";
+
+    /**
+     * The time in milliseconds to wait for a free connection before failing
+     */
+    public static final long ACQUIRE_TIMEOUT = 5000;
+
+    /**
+     * The time in milliseconds a connection may stay idle before it is validated on reuse
+     */
+    public static final long VALIDATION_INTERVAL = 30000;
+
+    /**
+     * The time in seconds allowed for validating a connection
+     */
+    public static final int VALIDATION_TIMEOUT = 2;
+
+    /**
+     * The logger for this class
+     */
+    public static final Logger LOGGER = LogManager.getLogger(ConnectionPool.class);
+
+    /**
+     * The URL of the database
+     */
+    private final String url;
+
+    /**
+     * The maximum number of physical connections
+     */
+    private final int maxConnections;
+
+    /**
+     * The idle connections, most recently used first
+     */
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+    /**
+     * The number of physical connections open, idle or in use
+     */
+    private int openConnections = 0;
+
+    /**
+     * The number of connections in use
+     */
+    private int inUse = 0;
+
+    /**
+     * The largest number of connections in use at the same time
+     */
+    private int peakInUse = 0;
+
+    /**
+     * The number of connections handed out
+     */
+    private long acquisitions = 0;
+
+    /**
+     * The number of physical connections opened
+     */
+    private long connectionsCreated = 0;
+
+    /**
+     * The number of acquisitions that had to wait for a connection
+     */
+    private long waits = 0;
+
+    /**
+     * The number of idle connections discarded because validation failed
+     */
+    private long validationFailures = 0;
+
+    /**
+     * The number of prepared statements served from a cache
+     */
+    private long statementCacheHits = 0;
+
+    /**
+     * The number of prepared statements created
+     */
+    private long statementCacheMisses = 0;
+
+    /**
+     * Indicates whether or not the pool has been closed
+     */
+    private boolean closed = false;
+
+    /**
+     * Creates an empty pool for the given database.
+     *
+     * @param url the URL of the database
+     * @param maxConnections the maximum number of physical connections
+     */
+    public ConnectionPool(String url, int maxConnections) {
+        this.url = url;
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Borrows a connection, waiting up to ACQUIRE_TIMEOUT milliseconds if all connections are in use. Closing the
+     * returned connection returns it to the pool.
+     *
+     * @return the connection
+     * @throws SQLException if no connection can be opened or the wait times out
+     */
+    public Connection getConnection() throws SQLException {
+        PooledConnection pooledConnection = acquire();
+        try {
+            pooledConnection.prepareForUse();
+        } catch (SQLException e) {
+            discard(pooledConnection);
+            throw e;
+        }
+        return pooledConnection.createProxy();
+    }
+
+    /**
+     * Takes an idle valid connection or reserves room for a new one.
+     *
+     * @return the connection
+     * @throws SQLException if no connection can be opened or the wait times out
+     */
+    private PooledConnection acquire() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ACQUIRE_TIMEOUT);
+        boolean waited = false;
+        synchronized (this) {
+            while (true) {
+                if (closed) {
+                    throw new SQLException("The connection pool is closed.");
+                }
+                PooledConnection pooledConnection = idle.pollFirst();
+                if (pooledConnection != null) {
+                    if (pooledConnection.isUsable()) {
+                        markAcquired(waited);
+                        return pooledConnection;
+                    }
+                    validationFailures++;
+                    openConnections--;
+                    pooledConnection.closePhysical();
+                    continue;
+                }
+                if (openConnections < maxConnections) {
+                    openConnections++;
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLException("Timed out waiting for a pooled connection.");
+                }
+                waited = true;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+                }
+            }
+        }
+        try {
+            PooledConnection pooledConnection = new PooledConnection(DriverManager.getConnection(url));
+            synchronized (this) {
+                connectionsCreated++;
+                markAcquired(waited);
+            }
+            return pooledConnection;
+        } catch (SQLException e) {
+            synchronized (this) {
+                openConnections--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Updates the usage counters for a connection handed out.
+     *
+     * @param waited true if the acquisition had to wait, false otherwise
+     */
+    private void markAcquired(boolean waited) {
+        acquisitions++;
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+        if (waited) {
+            waits++;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool after its proxy is closed.
+     *
+     * @param pooledConnection the connection
+     */
+    private void release(PooledConnection pooledConnection) {
+        boolean reusable = pooledConnection.resetAfterUse();
+        synchronized (this) {
+            inUse--;
+            if (reusable && !closed) {
+                idle.addFirst(pooledConnection);
+            } else {
+                openConnections--;
+                pooledConnection.closePhysical();
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Closes a connection that failed while being handed out.
+     *
+     * @param pooledConnection the connection
+     */
+    private void discard(PooledConnection pooledConnection) {
+        synchronized (this) {
+            inUse--;
+            openConnections--;
+            notifyAll();
+        }
+        pooledConnection.closePhysical();
+    }
+
+    /**
+     * Closes the idle connections and refuses further requests. Connections in use are closed when returned.
+     */
+    public synchronized void close() {
+        closed = true;
+        for (PooledConnection pooledConnection : idle) {
+            pooledConnection.closePhysical();
+            openConnections--;
+        }
+        idle.clear();
+        notifyAll();
+    }
+
+    /**
+     * Records a statement request.
+     *
+     * @param hit true if the statement came from a cache, false otherwise
+     */
+    private synchronized void recordStatementRequest(boolean hit) {
+        if (hit) {
+            statementCacheHits++;
+        } else {
+            statementCacheMisses++;
+        }
+    }
+
+    /**
+     * Gets the value of inUse.
+     *
+     * @return the number of connections in use
+     */
+    public synchronized int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Gets the value of openConnections.
+     *
+     * @return the number of physical connections open
+     */
+    public synchronized int getOpenConnections() {
+        return openConnections;
+    }
+
+    /**
+     * Gets the value of connectionsCreated.
+     *
+     * @return the number of physical connections opened
+     */
+    public synchronized long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    /**
+     * Gets the value of statementCacheHits.
+     *
+     * @return the number of prepared statements served from a cache
+     */
+    public synchronized long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Connection pool: %d/%d open, %d in use, peak %d, %d acquired, %d created, %d waits, "
+                + "%d validation failures, statements %d hits %d misses", openConnections, maxConnections, inUse,
+                peakInUse, acquisitions, connectionsCreated, waits, validationFailures, statementCacheHits,
+                statementCacheMisses);
+    }
+
+    /**
+     * A physical connection with its statement cache.
+     */
+    private final class PooledConnection {
+
+        /**
+         * The physical connection
+         */
+        private final Connection connection;
+
+        /**
+         * The cached statements by SQL, least recently used first
+         */
+        private final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * The value of System.nanoTime() when the connection was last returned
+         */
+        private long lastReleased = System.nanoTime();
+
+        /**
+         * Sets the value for the physical connection.
+         *
+         * @param connection the physical connection
+         */
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Indicates whether or not the idle connection can be reused, validating it if it has been idle for long.
+         *
+         * @return true if the connection can be reused, false otherwise
+         */
+        private boolean isUsable() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                if (System.nanoTime() - lastReleased > TimeUnit.MILLISECONDS.toNanos(VALIDATION_INTERVAL)) {
+                    return connection.isValid(VALIDATION_TIMEOUT);
+                }
+                return true;
+            } catch (SQLException e) {
+                LOGGER.error("SQLException occurred in isUsable().", e);
+                return false;
+            }
+        }
+
+        /**
+         * Puts the connection in the default state expected by the data access classes.
+         *
+         * @throws SQLException if the connection cannot be reset
+         */
+        private void prepareForUse() throws SQLException {
+            if (!connection.getAutoCommit()) {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        /**
+         * Rolls back any unfinished transaction and releases the statements of the last use.
+         *
+         * @return true if the connection can be reused, false if it must be closed
+         */
+        private boolean resetAfterUse() {
+            lastReleased = System.nanoTime();
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                LOGGER.error("SQLException occurred in resetAfterUse().", e);
+                return false;
+            }
+        }
+
+        /**
+         * Returns a prepared statement for the given SQL, reusing a cached statement that is not in use.
+         *
+         * @param sql the SQL
+         * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+         * @return the statement proxy
+         * @throws SQLException if the statement cannot be prepared
+         */
+        private PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? GENERATED_KEYS_PREFIX + sql : sql;
+            CachedStatement cachedStatement = statements.get(key);
+            if (cachedStatement != null && !cachedStatement.inUse) {
+                recordStatementRequest(true);
+            } else {
+                recordStatementRequest(false);
+                PreparedStatement statement = connection.prepareStatement(sql, autoGeneratedKeys);
+                if (cachedStatement != null) {
+                    return statement;
+                }
+                cachedStatement = new CachedStatement(statement);
+                statements.put(key, cachedStatement);
+                evictStatements();
+            }
+            cachedStatement.inUse = true;
+            return cachedStatement.createProxy();
+        }
+
+        /**
+         * Closes the least recently used statements that are not in use until the cache fits its size.
+         */
+        private void evictStatements() {
+            Iterator<CachedStatement> iterator = statements.values().iterator();
+            while (statements.size() > STATEMENT_CACHE_SIZE && iterator.hasNext()) {
+                CachedStatement cachedStatement = iterator.next();
+                if (!cachedStatement.inUse) {
+                    iterator.remove();
+                    cachedStatement.closePhysical();
+                }
+            }
+        }
+
+        /**
+         * Closes the cached statements and the physical connection.
+         */
+        private void closePhysical() {
+            for (CachedStatement cachedStatement : statements.values()) {
+                cachedStatement.closePhysical();
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.error("SQLException occurred in closePhysical().", e);
+            }
+        }
+
+        /**
+         * Creates the proxy handed out for this connection.
+         *
+         * @return the connection proxy
+         */
+        private Connection createProxy() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new InvocationHandler() {
+
+                /**
+                 * Indicates whether or not the proxy has been closed
+                 */
+                private boolean proxyClosed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!proxyClosed) {
+                                proxyClosed = true;
+                                release(PooledConnection.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return proxyClosed || connection.isClosed();
+                        default:
+                            break;
+                    }
+                    if (proxyClosed) {
+                        throw new SQLException("The pooled connection has been closed.");
+                    }
+                    if ("prepareStatement".equals(method.getName()) && args.length == 1) {
+                        return prepareStatement((String) args[0], Statement.NO_GENERATED_KEYS);
+                    }
+                    if ("prepareStatement".equals(method.getName()) && args.length == 2
+                            && method.getParameterTypes()[1] == int.class) {
+                        return prepareStatement((String) args[0], (Integer) args[1]);
+                    }
+                    return invokeTarget(connection, method, args);
+                }
+            });
+        }
+    }
+
+    /**
+     * A prepared statement kept open between uses of a pooled connection.
+     */
+    private static final class CachedStatement {
+
+        /**
+         * The physical statement
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Indicates whether or not the statement is handed out
+         */
+        private boolean inUse = false;
+
+        /**
+         * Sets the value for the physical statement.
+         *
+         * @param statement the physical statement
+         */
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * Closes the result of the last execution and clears the parameters so the statement can be reused.
+         */
+        private void resetAfterUse() {
+            try {
+                ResultSet results = statement.getResultSet();
+                if (results != null) {
+                    results.close();
+                }
+                statement.clearParameters();
+            } catch (SQLException e) {
+                LOGGER.error("SQLException occurred in resetAfterUse().", e);
+            }
+            inUse = false;
+        }
+
+        /**
+         * Closes the physical statement.
+         */
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.error("SQLException occurred in closePhysical().", e);
+            }
+        }
+
+        /**
+         * Creates the proxy handed out for this statement.
+         *
+         * @return the statement proxy
+         */
+        private PreparedStatement createProxy() {
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+
+                /**
+                 * Indicates whether or not the proxy has been closed
+                 */
+                private boolean proxyClosed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!proxyClosed) {
+                                proxyClosed = true;
+                                resetAfterUse();
+                            }
+                            return null;
+                        case "isClosed":
+                            return proxyClosed;
+                        default:
+                            break;
+                    }
+                    if (proxyClosed) {
+                        throw new SQLException("The cached statement has been closed.");
+                    }
+                    return invokeTarget(statement, method, args);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invokes the given method on the target and rethrows the exception thrown by the target.
+     *
+     * @param target the target
+     * @param method the method
+     * @param args the arguments
+     * @return the result of the method
+     * @throws Throwable the exception thrown by the target
+     */
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
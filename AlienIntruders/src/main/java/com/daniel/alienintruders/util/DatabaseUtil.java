@@ -17,7 +17,6 @@ package com.daniel.alienintruders.util;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -42,7 +41,46 @@ public class DatabaseUtil {
     public static final Logger LOGGER = LogManager.getLogger(DatabaseUtil.class);
 
     /**
-     * Verifies that the schema and tables for Alien Intruders have been created. If not, this method creates them.
+     * The name of the index ordering the scoreboard from best to worst score
+     */
+    public static final String SCOREBOARD_RANK_INDEX = "SCOREBOARD_ENTRY_RANK_IDX";
+
+    /**
+     * The pool of connections used by all data access classes
+     */
+    private static final ConnectionPool CONNECTION_POOL
+            = new ConnectionPool(DB_URL, ConnectionPool.DEFAULT_MAX_CONNECTIONS);
+
+    /**
+     * Borrows a connection from the shared pool. Closing the connection returns it to the pool.
+     *
+     * @return the connection
+     * @throws SQLException if no connection is available
+     */
+    public static Connection getConnection() throws SQLException {
+        return CONNECTION_POOL.getConnection();
+    }
+
+    /**
+     * Logs the connection pool metrics and closes the pooled connections.
+     */
+    public static void closeConnectionPool() {
+        LOGGER.info(CONNECTION_POOL);
+        CONNECTION_POOL.close();
+    }
+
+    /**
+     * Gets the value of CONNECTION_POOL.
+     *
+     * @return the pool of connections used by all data access classes
+     */
+    public static ConnectionPool getConnectionPool() {
+        return CONNECTION_POOL;
+    }
+
+    /**
+     * Verifies that the schema, tables and indexes for Alien Intruders have been created. If not, this method creates
+     * them.
      */
     public static void verifyDatabase() {
         try {
@@ -50,7 +88,7 @@ public class DatabaseUtil {
         } catch (ClassNotFoundException e1) {
             LOGGER.error("ClassNotFoundException for the Derby embedded driver.", e1);
         }
-        try (Connection connection = DriverManager.getConnection(DB_URL);
+        try (Connection connection = getConnection();
                 Statement statement = connection.createStatement()) {
             DatabaseMetaData metaData = connection.getMetaData();
             ResultSet results = metaData.getTables(null, "ALIEN_INTRUDERS", "PLAYER", null);
@@ -65,11 +103,73 @@ public class DatabaseUtil {
                     LOGGER.info("Database created successfully.");
                 }
             }
+            results.close();
+            createMissingIndexes(connection.getMetaData(), statement);
+            createMissingPlayerStats(connection.getMetaData(), statement);
         } catch (SQLException e) {
             LOGGER.error("SQLException occurred in verifyDatabase().", e);
         }
     }
 
+    /**
+     * Creates the indexes missing from databases created by earlier versions of the game. The scoreboard rank index
+     * matches the scoreboard ordering, with the id appended so pages of equal scores are stable.
+     *
+     * @param metaData the metadata of the database
+     * @param statement the Statement object to use.
+     * @throws SQLException
+     */
+    private static void createMissingIndexes(DatabaseMetaData metaData, Statement statement) throws SQLException {
+        try (ResultSet results = metaData.getIndexInfo(null, "ALIEN_INTRUDERS", "SCOREBOARD_ENTRY", false, false)) {
+            while (results.next()) {
+                if (SCOREBOARD_RANK_INDEX.equals(results.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        LOGGER.info("Creating the scoreboard rank index.");
+        statement.executeUpdate("CREATE INDEX " + SCOREBOARD_RANK_INDEX + " "
+                + "ON scoreboard_entry (score DESC, game_time_elapsed ASC, id ASC)");
+    }
+
+    /**
+     * Creates the player statistics table if it is missing and fills it from the existing scores, so databases
+     * created by earlier versions of the game keep the statistics of their players.
+     *
+     * @param metaData the metadata of the database
+     * @param statement the Statement object to use.
+     * @throws SQLException
+     */
+    private static void createMissingPlayerStats(DatabaseMetaData metaData, Statement statement) throws SQLException {
+        try (ResultSet results = metaData.getTables(null, "ALIEN_INTRUDERS", "PLAYER_STATS", null)) {
+            if (results.next()) {
+                return;
+            }
+        }
+        LOGGER.info("Creating the player statistics table.");
+        statement.executeUpdate("CREATE TABLE player_stats ("
+                + "player_name VARCHAR(255) NOT NULL REFERENCES player (name), "
+                + "games_played INTEGER NOT NULL, "
+                + "best_score INTEGER NOT NULL, "
+                + "best_game_time_elapsed BIGINT NOT NULL, "
+                + "total_score BIGINT NOT NULL, "
+                + "total_game_time_elapsed BIGINT NOT NULL, "
+                + "CONSTRAINT player_stats_pk PRIMARY KEY (player_name)"
+                + ")");
+        statement.executeUpdate("INSERT INTO player_stats (player_name, games_played, best_score, "
+                + "best_game_time_elapsed, total_score, total_game_time_elapsed) "
+                + "SELECT s.player_name, COUNT(*), MAX(s.score), 0, SUM(CAST(s.score AS BIGINT)), "
+                + "SUM(COALESCE(s.game_time_elapsed, 0)) "
+                + "FROM scoreboard_entry s "
+                + "WHERE s.player_name IS NOT NULL AND s.score IS NOT NULL "
+                + "GROUP BY s.player_name");
+        statement.executeUpdate("UPDATE player_stats "
+                + "SET best_game_time_elapsed = (SELECT MIN(COALESCE(s.game_time_elapsed, 0)) "
+                + "FROM scoreboard_entry s "
+                + "WHERE s.player_name = player_stats.player_name "
+                + "AND s.score = player_stats.best_score)");
+    }
+
     /**
      * Creates the tables for the game and inserts reference data.
      *
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A canvas drawn with a BufferStrategy instead of Swing repaints. The strategy uses page flipping with three buffers
+ * where the display supports it and otherwise falls back to the default double-buffered strategy.
+ *
+ * @author Bryan Daniel
+ */
+class ActiveRenderSurface extends Canvas {
+
+    /**
+     * The number of buffers requested for page flipping
+     */
+    public static final int FLIP_BUFFER_COUNT = 3;
+
+    /**
+     * The number of buffers used when page flipping is not available
+     */
+    public static final int BLIT_BUFFER_COUNT = 2;
+
+    /**
+     * The buffer strategy or null if it has not been created
+     */
+    private volatile BufferStrategy bufferStrategy;
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Creates the canvas with the given size.
+     *
+     * @param width the width
+     * @param height the height
+     */
+    ActiveRenderSurface(int width, int height) {
+        logger = LogManager.getLogger(ActiveRenderSurface.class);
+        setBounds(0, 0, width, height);
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createStrategy();
+    }
+
+    @Override
+    public void removeNotify() {
+        BufferStrategy strategy = bufferStrategy;
+        bufferStrategy = null;
+        if (strategy != null) {
+            strategy.dispose();
+        }
+        super.removeNotify();
+    }
+
+    /**
+     * Creates the buffer strategy, preferring page flipping.
+     */
+    private void createStrategy() {
+        try {
+            createBufferStrategy(FLIP_BUFFER_COUNT, new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException ex) {
+            logger.info("Page flipping is not available, using " + BLIT_BUFFER_COUNT + " buffers.");
+            createBufferStrategy(BLIT_BUFFER_COUNT);
+        }
+        bufferStrategy = getBufferStrategy();
+    }
+
+    /**
+     * Draws a frame with the given drawing function and shows it, redrawing if the buffer contents are lost.
+     *
+     * @param drawing draws the frame
+     * @return true if the frame was shown, false if the surface is not ready
+     */
+    boolean render(Consumer<Graphics> drawing) {
+        BufferStrategy strategy = bufferStrategy;
+        if (strategy == null || !isDisplayable()) {
+            return false;
+        }
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    drawing.accept(graphics);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    /**
+     * Indicates whether or not the buffer strategy uses page flipping.
+     *
+     * @return true if page flipping, false otherwise
+     */
+    boolean isPageFlipping() {
+        BufferStrategy strategy = bufferStrategy;
+        return strategy != null && strategy.getCapabilities().isPageFlipping();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * A vertically scrolling background. The source image is scaled once to the width of the view and kept in an
+ * accelerated VolatileImage, so each frame is drawn as at most two unscaled copies. The volatile copy is rebuilt
+ * whenever its contents are lost, and the scaled image is drawn directly when no accelerated copy is available. The
+ * scroll position is derived from the elapsed simulation time, so the speed does not depend on the frame rate.
+ *
+ * @author Bryan Daniel
+ */
+class BackgroundLayer {
+
+    /**
+     * The number of pixels the background scrolls per simulation tick
+     */
+    public static final int SCROLL_SPEED = 1;
+
+    /**
+     * The width of the view
+     */
+    private final int viewWidth;
+
+    /**
+     * The height of the view
+     */
+    private final int viewHeight;
+
+    /**
+     * The source image scaled to the width of the view
+     */
+    private final BufferedImage scaledImage;
+
+    /**
+     * The height of the scaled image
+     */
+    private final int imageHeight;
+
+    /**
+     * The accelerated copy of the scaled image or null if none has been created
+     */
+    private VolatileImage volatileImage;
+
+    /**
+     * The row of the scaled image shown at the top of the view before scrolling
+     */
+    private final int startY;
+
+    /**
+     * The row of the scaled image shown at the top of the view. Negative values wrap to the bottom of the image.
+     */
+    private int scrollY;
+
+    /**
+     * Scales the source image to the width of the view and starts scrolling from its bottom.
+     *
+     * @param sourceImage the background image
+     * @param viewWidth the width of the view
+     * @param viewHeight the height of the view
+     */
+    BackgroundLayer(Image sourceImage, int viewWidth, int viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        int sourceWidth = sourceImage.getWidth(null);
+        int sourceHeight = sourceImage.getHeight(null);
+        imageHeight = Math.max(viewHeight, sourceHeight * viewWidth / sourceWidth);
+        scaledImage = new BufferedImage(viewWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaledImage.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(sourceImage, 0, 0, viewWidth, imageHeight, null);
+        graphics.dispose();
+        startY = imageHeight - viewHeight;
+        scrollY = startY;
+    }
+
+    /**
+     * Scrolls the background to the position reached after the given simulation time and draws it.
+     *
+     * @param graphics the Graphics object
+     * @param elapsedTicks the number of simulation ticks elapsed since scrolling started, including the fraction of
+     * the current tick
+     */
+    synchronized void draw(Graphics graphics, double elapsedTicks) {
+        long distance = (long) (elapsedTicks * SCROLL_SPEED);
+        scrollY = startY - (int) (distance % imageHeight);
+        GraphicsConfiguration configuration = graphics instanceof Graphics2D
+                ? ((Graphics2D) graphics).getDeviceConfiguration() : null;
+        if (configuration == null) {
+            drawFrom(graphics, scaledImage);
+            return;
+        }
+        validate(configuration);
+        drawFrom(graphics, volatileImage);
+        if (volatileImage.contentsLost()) {
+            drawFrom(graphics, scaledImage);
+        }
+    }
+
+    /**
+     * Creates or restores the accelerated copy for the given configuration.
+     *
+     * @param configuration the configuration of the destination
+     */
+    private void validate(GraphicsConfiguration configuration) {
+        if (volatileImage == null) {
+            createVolatileImage(configuration);
+            return;
+        }
+        int status = volatileImage.validate(configuration);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            volatileImage.flush();
+            createVolatileImage(configuration);
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            copyScaledImage();
+        }
+    }
+
+    /**
+     * Creates the accelerated copy for the given configuration.
+     *
+     * @param configuration the configuration of the destination
+     */
+    private void createVolatileImage(GraphicsConfiguration configuration) {
+        volatileImage = configuration.createCompatibleVolatileImage(viewWidth, imageHeight, Transparency.OPAQUE);
+        copyScaledImage();
+    }
+
+    /**
+     * Copies the scaled image into the accelerated copy.
+     */
+    private void copyScaledImage() {
+        Graphics2D graphics = volatileImage.createGraphics();
+        graphics.drawImage(scaledImage, 0, 0, null);
+        graphics.dispose();
+    }
+
+    /**
+     * Draws the visible part of the given image. When the view straddles the top of the image, the bottom of the
+     * image fills the top of the view.
+     *
+     * @param graphics the Graphics object
+     * @param image the scaled image or its accelerated copy
+     */
+    private void drawFrom(Graphics graphics, Image image) {
+        if (scrollY >= 0) {
+            graphics.drawImage(image, 0, 0, viewWidth, viewHeight,
+                    0, scrollY, viewWidth, scrollY + viewHeight, null);
+        } else {
+            graphics.drawImage(image, 0, 0, viewWidth, -scrollY,
+                    0, imageHeight + scrollY, viewWidth, imageHeight, null);
+            graphics.drawImage(image, 0, -scrollY, viewWidth, viewHeight,
+                    0, 0, viewWidth, viewHeight + scrollY, null);
+        }
+    }
+
+    /**
+     * Releases the accelerated copy.
+     */
+    synchronized void flush() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+/**
+ * An explosion in progress. The explosion only records where and when it started; its frames come from the shared
+ * explosion animation.
+ *
+ * @author Bryan Daniel
+ */
+class Explosion {
+
+    /**
+     * The x coordinate of the exploding sprite
+     */
+    private final int x;
+
+    /**
+     * The y coordinate of the exploding sprite
+     */
+    private final int y;
+
+    /**
+     * The width of the exploding sprite
+     */
+    private final int width;
+
+    /**
+     * The height of the exploding sprite
+     */
+    private final int height;
+
+    /**
+     * The simulation tick on which the explosion started
+     */
+    private final long startTick;
+
+    /**
+     * Sets the values for the instance variables.
+     *
+     * @param x the x coordinate of the exploding sprite
+     * @param y the y coordinate of the exploding sprite
+     * @param width the width of the exploding sprite
+     * @param height the height of the exploding sprite
+     * @param startTick the simulation tick on which the explosion started
+     */
+    Explosion(int x, int y, int width, int height, long startTick) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.startTick = startTick;
+    }
+
+    /**
+     * Returns the index of the animation frame to show on the given tick, advancing one frame per tick.
+     *
+     * @param tick the current simulation tick
+     * @return the frame index
+     */
+    int getFrameIndex(long tick) {
+        return (int) Math.max(0, tick - startTick);
+    }
+
+    /**
+     * Gets the value of x.
+     *
+     * @return the x coordinate
+     */
+    int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the value of y.
+     *
+     * @return the y coordinate
+     */
+    int getY() {
+        return y;
+    }
+
+    /**
+     * Gets the value of width.
+     *
+     * @return the width
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the value of height.
+     *
+     * @return the height
+     */
+    int getHeight() {
+        return height;
+    }
+}
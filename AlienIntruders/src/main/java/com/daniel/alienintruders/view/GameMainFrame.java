@@ -20,6 +20,7 @@ import com.daniel.alienintruders.database.GameDataAccess;
 import com.daniel.alienintruders.database.entity.AlienWave;
 import com.daniel.alienintruders.database.entity.Player;
 import com.daniel.alienintruders.database.entity.PlayerState;
+import com.daniel.alienintruders.database.entity.PlayerStats;
 import com.daniel.alienintruders.database.entity.ScoreboardEntry;
 import com.daniel.alienintruders.image.ImageType;
 import com.daniel.alienintruders.image.ImageFactory;
@@ -112,6 +113,8 @@ public class GameMainFrame extends JFrame {
      */
     private void initialize() {
         DatabaseUtil.verifyDatabase();
+        GameDataAccess.reloadAlienWaves();
+        GameDataAccess.warmLeaderboard();
         gameContext = GameContext.getInstance();
 
         layeredPane = new JLayeredPane();
@@ -122,7 +125,7 @@ public class GameMainFrame extends JFrame {
 
         setTitle(GAME_TITLE);
         setSize(new Dimension(GamePanel.PANEL_WIDTH, GamePanel.PANEL_HEIGHT));
-        setIconImage(ImageFactory.createImage(ImageType.MOTHERSHIP).getImage());
+        setIconImage(ImageFactory.getImage(ImageType.MOTHERSHIP));
         setResizable(false);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
@@ -147,6 +150,7 @@ public class GameMainFrame extends JFrame {
      */
     void showMainMenu() {
         logger.info("Returning to main menu...");
+        gamePanel.setActiveRenderingEnabled(false);
         mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
         Timer startTimer = new Timer(1, (ActionEvent e) -> {
             mainMenuPanel.setLocation(mainMenuPanel.getX() + 1, 0);
@@ -212,6 +216,7 @@ public class GameMainFrame extends JFrame {
      * @param message the message to display
      */
     void showMessage(String message) {
+        gamePanel.setActiveRenderingEnabled(false);
         messagePanel.setBounds(0, 0, GamePanel.PANEL_WIDTH, GamePanel.PANEL_HEIGHT);
         messagePanel.displayMessage(message);
     }
@@ -221,20 +226,17 @@ public class GameMainFrame extends JFrame {
      */
     void removeMessage() {
         messagePanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
+        gamePanel.setActiveRenderingEnabled(true);
     }
 
     /**
      * Slides the instructions panel into view.
      */
     void openInstructions() {
-        new Thread(() -> {
-            List<AlienWave> alienWaves = GameDataAccess.findAllAlienWaves();
-            SwingUtilities.invokeLater(() -> {
-                instructionsPanel = new InstructionsPanel(this, alienWaves);
-                layeredPane.add(instructionsPanel, JLayeredPane.MODAL_LAYER);
-                mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
-            });
-        }).start();
+        List<AlienWave> alienWaves = GameDataAccess.findAllAlienWaves();
+        instructionsPanel = new InstructionsPanel(this, alienWaves);
+        layeredPane.add(instructionsPanel, JLayeredPane.MODAL_LAYER);
+        mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
     }
 
     /**
@@ -250,9 +252,12 @@ public class GameMainFrame extends JFrame {
      */
     void showScores() {
         new Thread(() -> {
-            List<ScoreboardEntry> scores = GameDataAccess.findAllScores();
+            int scoreCount = GameDataAccess.countScores();
+            List<ScoreboardEntry> firstPage = GameDataAccess.findScores(0, ScoreboardTableModel.PAGE_SIZE);
+            List<PlayerStats> personalBests = GameDataAccess.findPersonalBests();
             SwingUtilities.invokeLater(() -> {
-                scoreboardPanel = new ScoreboardPanel(this, scores);
+                scoreboardPanel = new ScoreboardPanel(this, new ScoreboardTableModel(scoreCount, firstPage),
+                        new PersonalBestsTableModel(personalBests));
                 layeredPane.add(scoreboardPanel, JLayeredPane.MODAL_LAYER);
                 mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
             });
@@ -271,14 +276,9 @@ public class GameMainFrame extends JFrame {
      * Displays the game credits.
      */
     void showCredits() {
-        new Thread(() -> {
-            List<ScoreboardEntry> scores = GameDataAccess.findAllScores();
-            SwingUtilities.invokeLater(() -> {
-                creditsPanel = new CreditsPanel(this);
-                layeredPane.add(creditsPanel, JLayeredPane.MODAL_LAYER);
-                mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
-            });
-        }).start();
+        creditsPanel = new CreditsPanel(this);
+        layeredPane.add(creditsPanel, JLayeredPane.MODAL_LAYER);
+        mainMenuPanel.setLocation(-GamePanel.PANEL_WIDTH, 0);
     }
 
     /**
@@ -290,9 +290,15 @@ public class GameMainFrame extends JFrame {
     }
 
     /**
-     * Exits the game.
+     * Exits the game. The connection pool is left open if queued saves are still being written, so the shutdown
+     * hook of the persistence worker can finish them.
      */
     void exit() {
+        if (GameDataAccess.flushPendingSaves()) {
+            DatabaseUtil.closeConnectionPool();
+        } else {
+            logger.warn("Queued saves were not written in time; leaving the connection pool open.");
+        }
         System.exit(0);
     }
 }
@@ -15,40 +15,40 @@
  */
 package com.daniel.alienintruders.view;
 
+import com.daniel.alienintruders.loop.GameEventListener;
 import com.daniel.alienintruders.loop.GameLoop;
+import com.daniel.alienintruders.loop.GameSnapshot;
 import com.daniel.alienintruders.context.GameContext;
 import com.daniel.alienintruders.database.GameDataAccess;
 import com.daniel.alienintruders.database.entity.Player;
-import com.daniel.alienintruders.image.GifFrame;
+import com.daniel.alienintruders.image.AnimationFrames;
 import com.daniel.alienintruders.image.ImageFactory;
 import com.daniel.alienintruders.image.ImageType;
+import com.daniel.alienintruders.image.SpriteAtlas;
 import com.daniel.alienintruders.input.GameInputListener;
-import com.daniel.alienintruders.sprite.Alien;
+import com.daniel.alienintruders.jfr.ExplosionEvent;
+import com.daniel.alienintruders.sound.AudioDispatcher;
+import com.daniel.alienintruders.sprite.AlienSwarm;
 import com.daniel.alienintruders.sprite.AlienMissile;
 import com.daniel.alienintruders.sprite.Laser;
 import com.daniel.alienintruders.sprite.Spaceship;
-import com.daniel.alienintruders.sprite.Sprite;
+import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.GraphicsEnvironment;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 import javax.swing.Timer;
+import jdk.jfr.EventType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -57,27 +57,33 @@ import org.apache.logging.log4j.Logger;
  *
  * @author Bryan Daniel
  */
-public class GamePanel extends JPanel {
+public class GamePanel extends JPanel implements GameEventListener {
 
     /**
      * The panel width
      */
-    public static final int PANEL_WIDTH = 1200;
+    public static final int PANEL_WIDTH = GameContext.FIELD_WIDTH;
 
     /**
      * The panel height
      */
-    public static final int PANEL_HEIGHT = 750;
+    public static final int PANEL_HEIGHT = GameContext.FIELD_HEIGHT;
 
     /**
-     * The height of the source image to use for the background
+     * The system property that enables active rendering through a BufferStrategy
      */
-    public static final int BACKGROUND_IMAGE_HEIGHT = 2133;
+    public static final String ACTIVE_RENDERING_PROPERTY = "alienintruders.activeRendering";
 
     /**
-     * The time in milliseconds of the loop delay
+     * The Flight Recorder type of the explosion events, checked so that no event is allocated while the type is not
+     * recorded
      */
-    public static final int LOOP_DELAY = 17;
+    private static final EventType EXPLOSION_TYPE = EventType.getEventType(ExplosionEvent.class);
+
+    /**
+     * The key toggling the performance overlay
+     */
+    public static final int PERFORMANCE_HUD_KEY = KeyEvent.VK_F3;
 
     /**
      * The dialog title for a dead player
@@ -99,6 +105,21 @@ public class GamePanel extends JPanel {
      */
     public static final String VICTORY_DIALOG_MESSAGE = "Great shooting! Do you want to play again?";
 
+    /**
+     * The format of the line giving the scoreboard rank of the final score
+     */
+    public static final String RANK_MESSAGE_FORMAT = "Your score of %d ranks #%d on the scoreboard.";
+
+    /**
+     * The time in milliseconds the victory message stays on screen before the next wave starts
+     */
+    public static final int VICTORY_MESSAGE_DURATION = 1000;
+
+    /**
+     * The time in milliseconds between the cues that start a wave
+     */
+    public static final int START_CUE_INTERVAL = 1000;
+
     /**
      * The game context
      */
@@ -110,54 +131,74 @@ public class GamePanel extends JPanel {
     private final GameMainFrame gameMainFrame;
 
     /**
-     * The background image
+     * The scrolling star background
+     */
+    private BackgroundLayer backgroundLayer;
+
+    /**
+     * The number of simulation ticks the background has scrolled for
+     */
+    private double backgroundTicks;
+
+    /**
+     * The sprite images scaled to their drawing sizes
      */
-    private Image backgroundImage;
+    private SpriteAtlas spriteAtlas;
 
     /**
-     * The second background image
+     * The x coordinates of the sprites drawn in a batch
      */
-    private Image secondBackgroundImage;
+    private int[] batchX = new int[0];
 
     /**
-     * The first x coordinate of the source image
+     * The y coordinates of the sprites drawn in a batch
      */
-    private int backgroundImageX1;
+    private int[] batchY = new int[0];
 
     /**
-     * The first y coordinate of the source image
+     * The game loop
      */
-    private int backgroundImageY1;
+    private GameLoop gameLoop;
 
     /**
-     * The second x coordinate of the source image
+     * The performance overlay
      */
-    private int backgroundImageX2;
+    private PerformanceHud performanceHud;
 
     /**
-     * The second y coordinate of the source image
+     * The render thread drawing onto the active render surface or null if Swing repaints the panel
      */
-    private int backgroundImageY2;
+    private RenderThread renderThread;
 
     /**
-     * The loop timer
+     * The number of aliens in the previous frame or -1 if no frame has been drawn
      */
-    private Timer timer;
+    private int paintedAlienCount = -1;
 
     /**
-     * Indicates whether or not the options dialog is displayed
+     * The living state of each alien in the previous frame
      */
-    private boolean optionShowing = false;
+    private boolean[] paintedAlienAlive = new boolean[0];
 
     /**
-     * Indicates whether or not the victory message is displayed
+     * Indicates whether or not the spaceship was alive in the previous frame
      */
-    private boolean victoryShowing = false;
+    private boolean paintedSpaceshipAlive = false;
 
     /**
-     * Indicates whether or not the victory animation is playing
+     * The shared frames of the explosion animation
      */
-    private boolean playingVictoryAnimation = false;
+    private AnimationFrames explosionFrames;
+
+    /**
+     * The explosions in progress
+     */
+    private final List<Explosion> explosions = new ArrayList<>();
+
+    /**
+     * Guards the drawing state, which both the render thread and Swing use while the drawing mode changes
+     */
+    private final Object drawingLock = new Object();
 
     /**
      * The logger for this class
@@ -182,17 +223,45 @@ public class GamePanel extends JPanel {
      */
     private void initialize() {
         setBounds(0, 0, GamePanel.PANEL_WIDTH, GamePanel.PANEL_HEIGHT);
-        backgroundImageX1 = 0;
-        backgroundImageY1 = BACKGROUND_IMAGE_HEIGHT - PANEL_HEIGHT;
-        backgroundImageX2 = PANEL_WIDTH;
-        backgroundImageY2 = BACKGROUND_IMAGE_HEIGHT;
-        backgroundImage = ImageFactory.createImage(ImageType.SKY).getImage();
-        secondBackgroundImage = ImageFactory.createImage(ImageType.SKY).getImage();
+        backgroundLayer = new BackgroundLayer(ImageFactory.getImage(ImageType.SKY), PANEL_WIDTH, PANEL_HEIGHT);
+        Map<ImageType, Dimension> spriteSizes = new EnumMap<>(ImageType.class);
+        spriteSizes.put(ImageType.SPACESHIP, new Dimension(Spaceship.SPACESHIP_WIDTH, Spaceship.SPACESHIP_HEIGHT));
+        spriteSizes.put(ImageType.SPACESHIP_LASER, new Dimension(Laser.LASER_WIDTH, Laser.LASER_HEIGHT));
+        spriteSizes.put(ImageType.ALIEN, new Dimension(AlienSwarm.ALIEN_WIDTH, AlienSwarm.ALIEN_HEIGHT));
+        spriteSizes.put(ImageType.ALIEN_MISSILE, new Dimension(AlienMissile.MISSILE_WIDTH,
+                AlienMissile.MISSILE_HEIGHT));
+        spriteAtlas = new SpriteAtlas(spriteSizes);
+        explosionFrames = ImageFactory.getExplosionFrames();
         addKeyListener(new GameInputListener(gameContext));
         setFocusable(true);
-        setOptionShowing(false);
-        timer = new Timer(LOOP_DELAY, new GameLoop(this, gameContext));
-        timer.start();
+        if (Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY) && !GraphicsEnvironment.isHeadless()) {
+            setLayout(null);
+            ActiveRenderSurface surface = new ActiveRenderSurface(PANEL_WIDTH, PANEL_HEIGHT);
+            add(surface);
+            renderThread = new RenderThread(surface, this::doDrawing);
+            renderThread.start();
+        }
+        gameLoop = new GameLoop(this, gameContext);
+        performanceHud = new PerformanceHud(gameLoop.getMetrics());
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == PERFORMANCE_HUD_KEY) {
+                    performanceHud.toggle();
+                }
+            }
+        });
+        gameLoop.start();
+    }
+
+    /**
+     * Presents the next frame. With active rendering the frame is drawn by the render thread; otherwise, or while
+     * the render surface is not ready, a Swing repaint is requested.
+     */
+    public void presentFrame() {
+        if (renderThread == null || !renderThread.requestFrame()) {
+            repaint();
+        }
     }
 
     /**
@@ -201,84 +270,53 @@ public class GamePanel extends JPanel {
     public void startGame() {
         requestFocus();
         int wave = gameContext.getPlayerState().getAlienWave().getWave();
-        new Thread(() -> {
-            gameContext.getBuildUpAudioPlayer().playSound();
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            SwingUtilities.invokeLater(() -> {
-                gameMainFrame.showMessage("WAVE " + wave);
-            });
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            SwingUtilities.invokeLater(() -> {
-                gameMainFrame.showMessage("FIGHT!");
-            });
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            SwingUtilities.invokeLater(() -> {
-                gameMainFrame.removeMessage();
-                gameContext.setGameRunning(true);
-            });
-            gameContext.getBackgroundAudioPlayer().playSound();
-        }).start();
+        AudioDispatcher audioDispatcher = AudioDispatcher.getInstance();
+        audioDispatcher.play(gameContext.getBuildUpAudioPlayer());
+        Timer waveTimer = new Timer(START_CUE_INTERVAL, (ActionEvent e) -> {
+            gameMainFrame.showMessage("WAVE " + wave);
+        });
+        waveTimer.setRepeats(false);
+        waveTimer.start();
+        Timer fightTimer = new Timer(2 * START_CUE_INTERVAL, (ActionEvent e) -> {
+            gameMainFrame.showMessage("FIGHT!");
+        });
+        fightTimer.setRepeats(false);
+        fightTimer.start();
+        Timer startTimer = new Timer(3 * START_CUE_INTERVAL, (ActionEvent e) -> {
+            gameMainFrame.removeMessage();
+            gameContext.setGameRunning(true);
+            audioDispatcher.play(gameContext.getBackgroundAudioPlayer());
+        });
+        startTimer.setRepeats(false);
+        startTimer.start();
     }
 
     /**
-     * Draws the background.
+     * Draws the background scrolled by the simulation ticks of the given snapshot, or where it was last drawn if no
+     * snapshot has been published yet.
      *
      * @param graphics the Graphics object
+     * @param snapshot the latest game snapshot or null
+     * @param alpha the fraction of the tick elapsed since the snapshot was captured
      */
-    private void drawBackground(Graphics graphics) {
-        backgroundImageY1 -= 1;
-        backgroundImageY2 -= 1;
-
-        /*
-         * If the top of the first background image has dropped into view, fill the space with the bottom of the second
-         * image.
-         */
-        if (backgroundImageY1 < 0 && backgroundImageY2 > 0) {
-            graphics.drawImage(secondBackgroundImage,
-                    0, 0, // destination x1, y1
-                    PANEL_WIDTH, -backgroundImageY1, // destination x2, y2
-                    backgroundImageX1, BACKGROUND_IMAGE_HEIGHT + backgroundImageY1, // source x1, y2
-                    backgroundImageX2, BACKGROUND_IMAGE_HEIGHT, // source x2, y2
-                    null);
-            graphics.drawImage(backgroundImage,
-                    0, -backgroundImageY1, // destination x1, y1
-                    PANEL_WIDTH, PANEL_HEIGHT, // destination x2, y2
-                    backgroundImageX1, 0, // source x1, y2
-                    backgroundImageX2, backgroundImageY2, // source x2, y2
-                    null);
-        } else {
-            if (backgroundImageY2 <= 0) {
-                backgroundImageY1 = BACKGROUND_IMAGE_HEIGHT - PANEL_HEIGHT;
-                backgroundImageY2 = BACKGROUND_IMAGE_HEIGHT;
-            }
-            graphics.drawImage(backgroundImage, 0, 0, PANEL_WIDTH, PANEL_HEIGHT,
-                    backgroundImageX1, backgroundImageY1, backgroundImageX2,
-                    backgroundImageY2, null);
+    private void drawBackground(Graphics graphics, GameSnapshot snapshot, float alpha) {
+        if (snapshot != null) {
+            backgroundTicks = snapshot.getTick() + alpha;
         }
+        backgroundLayer.draw(graphics, backgroundTicks);
     }
 
     /**
      * Draws the spaceship.
      *
      * @param graphics the Graphics object
+     * @param snapshot the game snapshot
+     * @param alpha the interpolation factor
      */
-    private void drawSpaceship(Graphics graphics) {
-        Spaceship spaceship = gameContext.getSpaceship();
-        if (!spaceship.isDead()) {
-            graphics.drawImage(spaceship.getImage(), spaceship.getX(), spaceship.getY(), Spaceship.SPACESHIP_WIDTH,
-                    Spaceship.SPACESHIP_HEIGHT, null);
+    private void drawSpaceship(Graphics graphics, GameSnapshot snapshot, float alpha) {
+        if (snapshot.isSpaceshipAlive()) {
+            spriteAtlas.draw(graphics, ImageType.SPACESHIP, snapshot.getSpaceshipX(alpha),
+                    snapshot.getSpaceshipY(alpha));
         }
     }
 
@@ -286,13 +324,12 @@ public class GamePanel extends JPanel {
      * Draws the laser.
      *
      * @param graphics the Graphics object
+     * @param snapshot the game snapshot
+     * @param alpha the interpolation factor
      */
-    private void drawLaser(Graphics graphics) {
-        Spaceship spaceship = gameContext.getSpaceship();
-        Laser laser = spaceship.getLaser();
-        if (laser != null && !laser.isDead()) {
-            graphics.drawImage(laser.getImage(), laser.getX(), laser.getY(), Laser.LASER_WIDTH,
-                    Laser.LASER_HEIGHT, null);
+    private void drawLaser(Graphics graphics, GameSnapshot snapshot, float alpha) {
+        if (snapshot.isLaserActive()) {
+            spriteAtlas.draw(graphics, ImageType.SPACESHIP_LASER, snapshot.getLaserX(), snapshot.getLaserY(alpha));
         }
     }
 
@@ -300,124 +337,137 @@ public class GamePanel extends JPanel {
      * Draws the aliens.
      *
      * @param graphics the Graphics object
-     */
-    private void drawAliens(Graphics graphics) {
-        gameContext.getAlienList().stream().
-                filter((alien) -> (!alien.isDead())).
-                forEachOrdered((alien) -> {
-                    graphics.drawImage(alien.getImage(), alien.getX(), alien.getY(), Alien.ALIEN_WIDTH,
-                            Alien.ALIEN_HEIGHT, null);
-                });
+     * @param snapshot the game snapshot
+     * @param alpha the interpolation factor
+     */
+    private void drawAliens(Graphics graphics, GameSnapshot snapshot, float alpha) {
+        ensureBatchCapacity(snapshot.getAlienCount());
+        int count = 0;
+        for (int i = 0; i < snapshot.getAlienCount(); i++) {
+            if (snapshot.isAlienAlive(i)) {
+                batchX[count] = snapshot.getAlienX(i, alpha);
+                batchY[count] = snapshot.getAlienY(i, alpha);
+                count++;
+            }
+        }
+        spriteAtlas.drawBatch(graphics, ImageType.ALIEN, batchX, batchY, count);
     }
 
     /**
      * Draws the alien missiles.
      *
      * @param graphics the Graphics object
+     * @param snapshot the game snapshot
+     * @param alpha the interpolation factor
+     */
+    private void drawMissiles(Graphics graphics, GameSnapshot snapshot, float alpha) {
+        ensureBatchCapacity(snapshot.getAlienCount());
+        int count = 0;
+        for (int i = 0; i < snapshot.getAlienCount(); i++) {
+            if (snapshot.isMissileActive(i)) {
+                batchX[count] = snapshot.getMissileX(i, alpha);
+                batchY[count] = snapshot.getMissileY(i, alpha);
+                count++;
+            }
+        }
+        spriteAtlas.drawBatch(graphics, ImageType.ALIEN_MISSILE, batchX, batchY, count);
+    }
+
+    /**
+     * Grows the batch position buffers to hold at least the given number of sprites.
+     *
+     * @param capacity the number of sprites
      */
-    private void drawMissiles(Graphics graphics) {
-        gameContext.getAlienList().stream().
-                filter((alien) -> (alien.getFiredMissile() != null && !alien
-                .getFiredMissile().isDead()))
-                .forEachOrdered((alien) -> {
-                    AlienMissile firedMissile = alien.getFiredMissile();
-                    graphics.drawImage(firedMissile.getImage(), firedMissile.getX(), firedMissile.getY(),
-                            AlienMissile.MISSILE_WIDTH, AlienMissile.MISSILE_HEIGHT, null);
-                });
+    private void ensureBatchCapacity(int capacity) {
+        if (batchX.length < capacity) {
+            batchX = new int[capacity];
+            batchY = new int[capacity];
+        }
     }
 
     /**
-     * Adds an explosion for the specified sprite to the explosion queue.
+     * Adds an explosion at the specified location to the explosions in progress.
      *
-     * @param sprite the sprite to explode
+     * @param x the x coordinate of the exploding sprite
+     * @param y the y coordinate of the exploding sprite
      * @param spriteWidth the sprite width
      * @param spriteHeight the sprite height
+     * @param startTick the simulation tick on which the explosion started
      */
-    private void addExplosion(Sprite sprite, int spriteWidth, int spriteHeight) {
-        ImageReader reader = null;
-        try {
-            reader = ImageIO.getImageReadersBySuffix("GIF").next();
-            ImageInputStream in = ImageIO.createImageInputStream(ImageFactory.class.getClassLoader()
-                    .getResourceAsStream(ImageFactory.EXPLOSION_URL));
-            reader.setInput(in);
-            Queue<GifFrame> animationFrames = new LinkedList<>();
-            int count = reader.getNumImages(true);
-            for (int i = 0; i < count; i++) {
-                BufferedImage bufferedImage = reader.read(i);
-                GifFrame animationFrame = new GifFrame(bufferedImage, sprite.getX(), sprite.getY(), spriteWidth,
-                        spriteHeight);
-                animationFrames.add(animationFrame);
-            }
-            gameContext.getExplosionAnimationImages().add(animationFrames);
-        } catch (IOException ex) {
-            logger.error("IOException occurred in addExplosion.", ex);
-        } finally {
-            if (reader != null) {
-                reader.dispose();
-            }
+    private void addExplosion(int x, int y, int spriteWidth, int spriteHeight, long startTick) {
+        explosions.add(new Explosion(x, y, spriteWidth, spriteHeight, startTick));
+        if (EXPLOSION_TYPE.isEnabled()) {
+            ExplosionEvent explosionEvent = new ExplosionEvent(x, y, startTick, explosions.size());
+            explosionEvent.commit();
         }
     }
 
     /**
-     * Checks for killed aliens, queues an explosion for each, and removes the dead aliens from the living aliens map.
+     * Queues an explosion for each alien killed since the last painted snapshot.
+     *
+     * @param snapshot the game snapshot
      */
-    private void addAlienExplosions() {
-        List<Alien> aliensToRemove = new ArrayList<>();
-        for (Alien alien : gameContext.getLivingAliens().keySet()) {
-            if (!gameContext.getLivingAliens().get(alien)) {
-                addExplosion(alien, Alien.ALIEN_WIDTH, Alien.ALIEN_HEIGHT);
-                aliensToRemove.add(alien);
-            }
+    private void addAlienExplosions(GameSnapshot snapshot) {
+        if (paintedAlienCount != snapshot.getAlienCount()) {
+            return;
         }
-        for (Alien alien : aliensToRemove) {
-            gameContext.getLivingAliens().remove(alien);
+        for (int i = 0; i < snapshot.getAlienCount(); i++) {
+            if (paintedAlienAlive[i] && !snapshot.isAlienAlive(i)) {
+                addExplosion(snapshot.getAlienX(i, 1f), snapshot.getAlienY(i, 1f), AlienSwarm.ALIEN_WIDTH,
+                        AlienSwarm.ALIEN_HEIGHT, snapshot.getTick());
+            }
         }
     }
 
     /**
-     * Checks for an exploded spaceship and queues the explosion.
+     * Queues an explosion if the spaceship was destroyed since the last painted snapshot.
+     *
+     * @param snapshot the game snapshot
      */
-    private void addSpaceshipExplosion() {
-        Spaceship spaceship = gameContext.getSpaceship();
-        if (spaceship.isDead() && spaceship.isExplode()) {
-            spaceship.setExplode(false);
-            addExplosion(spaceship, Spaceship.SPACESHIP_WIDTH,
-                    Spaceship.SPACESHIP_HEIGHT);
+    private void addSpaceshipExplosion(GameSnapshot snapshot) {
+        if (paintedAlienCount >= 0 && paintedSpaceshipAlive && !snapshot.isSpaceshipAlive()) {
+            addExplosion(snapshot.getSpaceshipX(1f), snapshot.getSpaceshipY(1f), Spaceship.SPACESHIP_WIDTH,
+                    Spaceship.SPACESHIP_HEIGHT, snapshot.getTick());
         }
     }
 
     /**
-     * Draws the animations for all explosions.
+     * Copies the living state of the sprites in the given snapshot, which is recycled once the next one is taken.
      *
-     * @param graphics the Graphics object
+     * @param snapshot the game snapshot
      */
-    private void drawExplosions(Graphics graphics) {
-        Queue<Queue<GifFrame>> explosionAnimationImages = gameContext.
-                getExplosionAnimationImages();
-        if (!explosionAnimationImages.isEmpty()) {
-            Iterator<Queue<GifFrame>> queueIterator = explosionAnimationImages.iterator();
-            while (queueIterator.hasNext()) {
-                Queue<GifFrame> animationFrames = queueIterator.next();
-                if (animationFrames.isEmpty()) {
-                    queueIterator.remove();
-                } else {
-                    GifFrame gifFrame = animationFrames.remove();
-                    graphics.drawImage(gifFrame.getImage(), gifFrame.getX() - gifFrame.getWidth() / 2,
-                            gifFrame.getY() - gifFrame.getHeight() / 2, gifFrame.getWidth() * 2,
-                            gifFrame.getHeight() * 2, this);
-                }
-            }
+    private void rememberPaintedState(GameSnapshot snapshot) {
+        int alienCount = snapshot.getAlienCount();
+        if (paintedAlienAlive.length < alienCount) {
+            paintedAlienAlive = new boolean[alienCount];
+        }
+        for (int i = 0; i < alienCount; i++) {
+            paintedAlienAlive[i] = snapshot.isAlienAlive(i);
         }
+        paintedAlienCount = alienCount;
+        paintedSpaceshipAlive = snapshot.isSpaceshipAlive();
     }
 
     /**
-     * Moves the spaceship forward for final victory.
-     */
-    private void drawVictoryAnimation() {
-        gameContext.getSpaceship().setY(gameContext.getSpaceship().getY() - 1);
-        if (gameContext.getSpaceship().getY() < 0 - Spaceship.SPACESHIP_HEIGHT) {
-            playingVictoryAnimation = false;
-            showOptionDialog(VICTORY_DIALOG_MESSAGE, VICTORY_DIALOG_TITLE);
+     * Draws the current frame of every explosion in progress and removes the finished explosions.
+     *
+     * @param graphics the Graphics object
+     * @param snapshot the game snapshot
+     */
+    private void drawExplosions(Graphics graphics, GameSnapshot snapshot) {
+        int remaining = 0;
+        for (int i = 0; i < explosions.size(); i++) {
+            Explosion explosion = explosions.get(i);
+            int frameIndex = explosion.getFrameIndex(snapshot.getTick());
+            if (frameIndex < explosionFrames.getFrameCount()) {
+                graphics.drawImage(explosionFrames.getFrame(frameIndex),
+                        explosion.getX() - explosion.getWidth() / 2, explosion.getY() - explosion.getHeight() / 2,
+                        explosion.getWidth() * 2, explosion.getHeight() * 2, null);
+                explosions.set(remaining++, explosion);
+            }
+        }
+        while (explosions.size() > remaining) {
+            explosions.remove(explosions.size() - 1);
         }
     }
 
@@ -427,84 +477,110 @@ public class GamePanel extends JPanel {
      * @param graphics the Graphics object
      */
     private void doDrawing(Graphics graphics) {
-        drawBackground(graphics);
-        if (gameContext.isGameInitialized()) {
-            drawSpaceship(graphics);
-            drawAliens(graphics);
-            if (gameContext.isGameRunning()) {
-                drawLaser(graphics);
-                addAlienExplosions();
-                drawMissiles(graphics);
-                addSpaceshipExplosion();
-                drawExplosions(graphics);
-            }
-            if (playingVictoryAnimation) {
-                drawVictoryAnimation();
-            }
-        } else {
-            if (timer.isRunning()) {
-                timer.stop();
+        synchronized (drawingLock) {
+            long frameStart = System.nanoTime();
+            GameSnapshot snapshot = gameLoop.getSnapshot();
+            float alpha = snapshot == null ? 0f : snapshot.getAlpha(frameStart, gameLoop.getTickDuration());
+            drawBackground(graphics, snapshot, alpha);
+            if (gameContext.isGameInitialized()) {
+                if (snapshot != null) {
+                    drawSpaceship(graphics, snapshot, alpha);
+                    drawAliens(graphics, snapshot, alpha);
+                    if (snapshot.isGameRunning()) {
+                        drawLaser(graphics, snapshot, alpha);
+                        addAlienExplosions(snapshot);
+                        drawMissiles(graphics, snapshot, alpha);
+                        addSpaceshipExplosion(snapshot);
+                        drawExplosions(graphics, snapshot);
+                    }
+                    rememberPaintedState(snapshot);
+                }
+                performanceHud.draw(graphics, snapshot);
+            } else {
+                if (gameLoop.isRunning()) {
+                    gameLoop.stop();
+                }
             }
+            gameLoop.getMetrics().recordFrame(frameStart, System.nanoTime() - frameStart);
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
+    /**
+     * Switches between active rendering and Swing painting. Active rendering must be disabled while a lightweight
+     * layer covers the panel, since the heavyweight render surface would paint over it. Must be called on the event
+     * dispatch thread.
+     *
+     * @param enabled true to draw with the render thread, false to draw with Swing repaints
+     */
+    void setActiveRenderingEnabled(boolean enabled) {
+        if (renderThread != null) {
+            renderThread.setEnabled(enabled);
+            repaint();
         }
-        Toolkit.getDefaultToolkit().sync();
     }
 
     @Override
     protected void paintComponent(Graphics graphics) {
         super.paintComponent(graphics);
-        doDrawing(graphics);
+        if (renderThread == null || !renderThread.isReady()) {
+            doDrawing(graphics);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        gameLoop.stop();
+        if (renderThread != null) {
+            renderThread.stop();
+        }
+        backgroundLayer.flush();
     }
 
     /**
-     * Shows the available options when the player dies.
+     * Shows the available options when the game is over, together with the scoreboard rank of the score.
      *
      * @param message the dialog message to display
      * @param title the dialog title
      */
     public void showOptionDialog(String message, String title) {
         Timer deadTimer = new Timer(1, (ActionEvent e) -> {
+            long timePlayed = VICTORY_DIALOG_MESSAGE.equals(message) ? gameContext.getGameTimeElapsed()
+                    : getTimePlayed();
+            int score = gameContext.getPlayerState().getScore();
+            String rankMessage = String.format(RANK_MESSAGE_FORMAT, score,
+                    GameDataAccess.findScoreRank(score, timePlayed));
             String[] options = {"Play Again", "Main Menu", "Exit Game"};
-            int selection = JOptionPane.showOptionDialog(this, message, title, JOptionPane.DEFAULT_OPTION,
-                    JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+            int selection = JOptionPane.showOptionDialog(this, rankMessage + "\n" + message, title,
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
             switch (selection) {
                 case 0:
-                    new Thread(() -> {
-                        gameContext.getPlayerState().setTerminated(true);
-                        gameContext.setGameTimeElapsed(getTimePlayed());
-                        if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
-                            saveGame();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            gameContext.setGameRunning(false);
-                            timer.stop();
-                            gameMainFrame.restartGame();
-                        });
-                    }).start();
+                    gameContext.getPlayerState().setTerminated(true);
+                    gameContext.setGameTimeElapsed(timePlayed);
+                    if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
+                        gameContext.save();
+                    }
+                    gameContext.setGameRunning(false);
+                    gameLoop.stop();
+                    gameMainFrame.restartGame();
                     break;
                 case 1:
-                    new Thread(() -> {
-                        gameContext.getPlayerState().setTerminated(true);
-                        gameContext.setGameTimeElapsed(getTimePlayed());
-                        if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
-                            saveGame();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            gameMainFrame.showMainMenu();
-                        });
-                    }).start();
+                    gameContext.getPlayerState().setTerminated(true);
+                    gameContext.setGameTimeElapsed(timePlayed);
+                    if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
+                        gameContext.save();
+                    }
+                    gameMainFrame.showMainMenu();
                     break;
                 case 2:
                 case JOptionPane.CLOSED_OPTION:
-                    new Thread(() -> {
-                        gameContext.getPlayerState().setTerminated(true);
-                        gameContext.setGameTimeElapsed(getTimePlayed());
-                        if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
-                            saveGame();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            gameMainFrame.exit();
-                        });
-                    }).start();
+                    gameContext.getPlayerState().setTerminated(true);
+                    gameContext.setGameTimeElapsed(timePlayed);
+                    if (!VICTORY_DIALOG_MESSAGE.equals(message)) {
+                        gameContext.save();
+                    }
+                    gameMainFrame.exit();
                     break;
                 default:
                     break;
@@ -514,101 +590,86 @@ public class GamePanel extends JPanel {
         deadTimer.start();
     }
 
-    /**
-     * Displays the victory message to the player.
-     */
-    public void showVictory() {
-        Timer victoryTimer = new Timer(1, (ActionEvent e) -> {
-            gameMainFrame.showMessage("VICTORY!");
-            Timer saveTimer = new Timer(1, (ActionEvent e2) -> {
-                new Thread(() -> {
-                    gameContext.getBackgroundAudioPlayer().stopSound();
-                    gameContext.getBackgroundAudioPlayer().close();
-                    int currentWave = gameContext.getPlayerState()
-                            .getAlienWave().getWave();
-                    if (currentWave < GameDataAccess.getAlienWaveCount()) {
-                        logger.info("Alien wave defeated: " + currentWave);
-                        logger.info("Proceeding to next alien wave...");
-                        gameContext.getPlayerState().setAlienWave(GameDataAccess
-                                .findAlienWave(currentWave + 1));
-                        saveGame();
-                        logger.info("Player status has been saved.");
-                        try {
-                            TimeUnit.SECONDS.sleep(1);
-                        } catch (InterruptedException ex) {
-                            Thread.currentThread().interrupt();
-                        }
-                        SwingUtilities.invokeLater(() -> {
-                            gameContext.setGameRunning(false);
-                            timer.stop();
-                            gameMainFrame.removeMessage();
-                            gameMainFrame.restartGame();
-                        });
-                    } else {
-                        logger.info("All alien waves have been defeated.");
-                        gameContext.getPlayerState().setTerminated(true);
-                        gameContext.setGameTimeElapsed(getTimePlayed());
-                        saveGame();
-                        playingVictoryAnimation = true;
-                        gameContext.getVictoryAudioPlayer().playSound();
-                        logger.info("Final victory saved.");
-                    }
-                }).start();
-            });
-            saveTimer.setRepeats(false);
-            saveTimer.start();
-        });
-        victoryTimer.setRepeats(false);
-        victoryTimer.start();
+    @Override
+    public void laserFired() {
+        AudioDispatcher.getInstance().play(gameContext.getLaserAudioPlayer());
     }
 
-    /**
-     * Saves the game. This method should not be executed on the EDT.
-     */
-    private void saveGame() {
-        CountDownLatch savedLatch = new CountDownLatch(1);
-        gameContext.save(savedLatch);
-        try {
-            savedLatch.await();
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
+    @Override
+    public void alienDestroyed(int alienIndex) {
+        AudioDispatcher.getInstance().play(gameContext.getExplosionAudioPlayer());
+    }
+
+    @Override
+    public void spaceshipDestroyed() {
+        AudioDispatcher audioDispatcher = AudioDispatcher.getInstance();
+        audioDispatcher.play(gameContext.getExplosionAudioPlayer());
+        boolean scheduled = audioDispatcher.schedule(() -> {
+            gameContext.getBackgroundAudioPlayer().stopSound();
+            gameContext.getBackgroundAudioPlayer().close();
+            gameContext.getGameLostAudioPlayer().playSound();
+        }, 1, TimeUnit.SECONDS);
+        if (!scheduled) {
+            logger.warn("The game lost cue was dropped by the audio dispatcher.");
         }
     }
 
-    /**
-     * Gets the value of optionShowing.
-     *
-     * @return the flag for display of the options dialog
-     */
-    public boolean isOptionShowing() {
-        return optionShowing;
+    @Override
+    public void playerDefeated() {
+        showOptionDialog(DEAD_DIALOG_MESSAGE, DEAD_DIALOG_TITLE);
     }
 
-    /**
-     * Sets the value of optionShowing.
-     *
-     * @param optionShowing the new value of optionShowing to set
-     */
-    public void setOptionShowing(boolean optionShowing) {
-        this.optionShowing = optionShowing;
+    @Override
+    public void waveCleared() {
+        showVictory();
     }
 
-    /**
-     * Gets the value of victoryShowing.
-     *
-     * @return the flag for display of the victory message
-     */
-    public boolean isVictoryShowing() {
-        return victoryShowing;
+    @Override
+    public void victoryAnimationFinished() {
+        showOptionDialog(VICTORY_DIALOG_MESSAGE, VICTORY_DIALOG_TITLE);
     }
 
     /**
-     * Sets the value of victoryShowing.
-     *
-     * @param victoryShowing the new value of victoryShowing to set
+     * Displays the victory message to the player.
      */
-    public void setVictoryShowing(boolean victoryShowing) {
-        this.victoryShowing = victoryShowing;
+    public void showVictory() {
+        Timer victoryTimer = new Timer(1, (ActionEvent e) -> {
+            gameMainFrame.showMessage("VICTORY!");
+            Timer saveTimer = new Timer(1, (ActionEvent e2) -> {
+                gameContext.getBackgroundAudioPlayer().stopSound();
+                gameContext.getBackgroundAudioPlayer().close();
+                int currentWave = gameContext.getPlayerState()
+                        .getAlienWave().getWave();
+                if (currentWave < GameDataAccess.getAlienWaveCount()) {
+                    logger.info("Alien wave defeated: " + currentWave);
+                    logger.info("Proceeding to next alien wave...");
+                    gameContext.getPlayerState().setAlienWave(GameDataAccess
+                            .findAlienWave(currentWave + 1));
+                    gameContext.save();
+                    logger.info("Player status has been queued for saving.");
+                    Timer restartTimer = new Timer(VICTORY_MESSAGE_DURATION, (ActionEvent e3) -> {
+                        gameContext.setGameRunning(false);
+                        gameLoop.stop();
+                        gameMainFrame.removeMessage();
+                        gameMainFrame.restartGame();
+                    });
+                    restartTimer.setRepeats(false);
+                    restartTimer.start();
+                } else {
+                    logger.info("All alien waves have been defeated.");
+                    gameContext.getPlayerState().setTerminated(true);
+                    gameContext.setGameTimeElapsed(getTimePlayed());
+                    gameContext.save();
+                    gameLoop.getGameEngine().startVictoryAnimation();
+                    AudioDispatcher.getInstance().play(gameContext.getVictoryAudioPlayer());
+                    logger.info("Final victory queued for saving.");
+                }
+            });
+            saveTimer.setRepeats(false);
+            saveTimer.start();
+        });
+        victoryTimer.setRepeats(false);
+        victoryTimer.start();
     }
 
     /**
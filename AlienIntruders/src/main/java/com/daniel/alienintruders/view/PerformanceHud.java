@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+import com.daniel.alienintruders.loop.GameSnapshot;
+import com.daniel.alienintruders.metrics.GameMetrics;
+import com.daniel.alienintruders.metrics.LatencyHistogram;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An overlay showing the frame rate, frame and tick timings, garbage collection and entity counts. The text is
+ * rebuilt a few times per second rather than on every frame, so the overlay adds little to the frame it measures.
+ *
+ * @author Bryan Daniel
+ */
+class PerformanceHud {
+
+    /**
+     * The time in nanoseconds between two refreshes of the text
+     */
+    public static final long REFRESH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /**
+     * The x coordinate of the overlay
+     */
+    public static final int HUD_X = 8;
+
+    /**
+     * The y coordinate of the overlay
+     */
+    public static final int HUD_Y = 8;
+
+    /**
+     * The height of a line of text
+     */
+    public static final int LINE_HEIGHT = 14;
+
+    /**
+     * The width of the overlay
+     */
+    public static final int HUD_WIDTH = 250;
+
+    /**
+     * The font of the overlay
+     */
+    private static final Font HUD_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /**
+     * The color of the overlay background
+     */
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 160);
+
+    /**
+     * The metrics shown by the overlay
+     */
+    private final GameMetrics metrics;
+
+    /**
+     * The lines of text shown by the overlay
+     */
+    private final String[] lines = new String[6];
+
+    /**
+     * The value of System.nanoTime() when the text was last rebuilt
+     */
+    private long lastRefresh = 0;
+
+    /**
+     * Indicates whether or not the overlay is shown
+     */
+    private volatile boolean visible = false;
+
+    /**
+     * Sets the value for the metrics.
+     *
+     * @param metrics the metrics shown by the overlay
+     */
+    PerformanceHud(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it otherwise.
+     */
+    void toggle() {
+        visible = !visible;
+        lastRefresh = 0;
+    }
+
+    /**
+     * Gets the value of visible.
+     *
+     * @return true if the overlay is shown, false otherwise
+     */
+    boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Draws the overlay if it is shown.
+     *
+     * @param graphics the Graphics object
+     * @param snapshot the game snapshot or null if none exists
+     */
+    void draw(Graphics graphics, GameSnapshot snapshot) {
+        if (!visible) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastRefresh == 0 || now - lastRefresh >= REFRESH_INTERVAL) {
+            refresh(snapshot);
+            lastRefresh = now;
+        }
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(HUD_X, HUD_Y, HUD_WIDTH, LINE_HEIGHT * lines.length + LINE_HEIGHT / 2);
+        graphics.setColor(Color.GREEN);
+        graphics.setFont(HUD_FONT);
+        for (int i = 0; i < lines.length; i++) {
+            graphics.drawString(lines[i], HUD_X + 6, HUD_Y + LINE_HEIGHT * (i + 1));
+        }
+    }
+
+    /**
+     * Rebuilds the text from the metrics and the snapshot.
+     *
+     * @param snapshot the game snapshot or null if none exists
+     */
+    private void refresh(GameSnapshot snapshot) {
+        LatencyHistogram frameIntervals = metrics.getFrameIntervals();
+        LatencyHistogram gcPauses = metrics.getGcPauses();
+        lines[0] = String.format("FPS %.1f", metrics.getMeasuredFrameRate());
+        lines[1] = String.format("frame p50 %.2f p99 %.2f ms",
+                GameMetrics.toMillis(frameIntervals.getValueAtPercentile(50)),
+                GameMetrics.toMillis(frameIntervals.getValueAtPercentile(99)));
+        lines[2] = String.format("update p99 %.2f render p99 %.2f ms",
+                GameMetrics.toMillis(metrics.getUpdateTimes().getValueAtPercentile(99)),
+                GameMetrics.toMillis(metrics.getRenderTimes().getValueAtPercentile(99)));
+        lines[3] = String.format("alloc p50 %d p99 %d B/tick", metrics.getAllocatedBytes().getValueAtPercentile(50),
+                metrics.getAllocatedBytes().getValueAtPercentile(99));
+        lines[4] = String.format("gc %d pauses, max %.1f ms", gcPauses.getTotalCount(),
+                GameMetrics.toMillis(gcPauses.getMaxValue()));
+        lines[5] = snapshot == null ? "no snapshot" : String.format("aliens %d missiles %d tick %d",
+                snapshot.getLivingAlienCount(), snapshot.getActiveMissileCount(), snapshot.getTick());
+    }
+}
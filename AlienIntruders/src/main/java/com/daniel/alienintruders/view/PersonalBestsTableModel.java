@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+import com.daniel.alienintruders.database.entity.PlayerStats;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * The table model to manage the personal bests of the players.
+ *
+ * @author Bryan Daniel
+ */
+public class PersonalBestsTableModel extends AbstractTableModel {
+
+    /**
+     * The column headers
+     */
+    private final String[] columnNames = {"Player", "Best Score", "Best Time", "Games", "Average Time"};
+
+    /**
+     * The statistics of the players, ordered from the best to the worst best score
+     */
+    private final List<PlayerStats> allPlayerStats;
+
+    /**
+     * Sets the value for allPlayerStats.
+     *
+     * @param allPlayerStats the statistics of the players to display
+     */
+    public PersonalBestsTableModel(List<PlayerStats> allPlayerStats) {
+        this.allPlayerStats = allPlayerStats;
+    }
+
+    @Override
+    public String getColumnName(int col) {
+        return columnNames[col];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public int getRowCount() {
+        return allPlayerStats.size();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        String value = "";
+        PlayerStats playerStats = allPlayerStats.get(rowIndex);
+        String column = columnNames[columnIndex];
+        switch (column) {
+            case "Player":
+                value = playerStats.getPlayerName();
+                break;
+            case "Best Score":
+                value = String.valueOf(playerStats.getBestScore());
+                break;
+            case "Best Time":
+                value = String.valueOf(playerStats.getBestGameTimeElapsed());
+                break;
+            case "Games":
+                value = String.valueOf(playerStats.getGamesPlayed());
+                break;
+            case "Average Time":
+                value = String.valueOf(playerStats.getAverageGameTimeElapsed());
+                break;
+            default:
+                break;
+        }
+        return value;
+    }
+}
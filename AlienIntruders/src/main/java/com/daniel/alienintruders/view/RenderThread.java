@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.view;
+
+import java.awt.Graphics;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Draws frames onto an active render surface on its own thread. The game loop requests frames at the display rate;
+ * requests made while a frame is being drawn are merged into the next frame, so the loop never waits on rendering.
+ * The surface is a heavyweight canvas that would paint over the lightweight menu and message layers, so it stays
+ * hidden, and Swing paints the frames instead, until it is enabled.
+ *
+ * @author Bryan Daniel
+ */
+class RenderThread implements Runnable {
+
+    /**
+     * The surface receiving the frames
+     */
+    private final ActiveRenderSurface surface;
+
+    /**
+     * Draws a frame
+     */
+    private final Consumer<Graphics> drawing;
+
+    /**
+     * Indicates whether or not a frame has been requested
+     */
+    private final AtomicBoolean frameRequested = new AtomicBoolean(false);
+
+    /**
+     * The thread drawing the frames
+     */
+    private volatile Thread renderThread;
+
+    /**
+     * Indicates whether or not the thread is running
+     */
+    private volatile boolean running = false;
+
+    /**
+     * Indicates whether or not the surface is shown and drawn by this thread
+     */
+    private volatile boolean enabled = false;
+
+    /**
+     * The logger for this class
+     */
+    private final Logger logger;
+
+    /**
+     * Sets the values for the surface and the drawing function.
+     *
+     * @param surface the surface receiving the frames
+     * @param drawing draws a frame
+     */
+    RenderThread(ActiveRenderSurface surface, Consumer<Graphics> drawing) {
+        this.surface = surface;
+        this.drawing = drawing;
+        logger = LogManager.getLogger(RenderThread.class);
+        surface.setVisible(false);
+    }
+
+    /**
+     * Shows or hides the surface. Must be called on the event dispatch thread.
+     *
+     * @param enabled true to draw frames onto the surface, false to leave drawing to Swing
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        surface.setVisible(enabled);
+    }
+
+    /**
+     * Starts the render thread.
+     */
+    synchronized void start() {
+        if (!running) {
+            running = true;
+            renderThread = new Thread(this, "game-render");
+            renderThread.setDaemon(true);
+            renderThread.start();
+        }
+    }
+
+    /**
+     * Stops the render thread.
+     */
+    synchronized void stop() {
+        running = false;
+        if (renderThread != null) {
+            LockSupport.unpark(renderThread);
+            renderThread = null;
+        }
+    }
+
+    /**
+     * Requests a frame from the render thread.
+     *
+     * @return true if the surface is ready and the frame will be drawn, false otherwise
+     */
+    boolean requestFrame() {
+        Thread thread = renderThread;
+        if (thread == null || !isReady()) {
+            return false;
+        }
+        if (frameRequested.compareAndSet(false, true)) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether or not the render thread is running and its surface is enabled and can be drawn.
+     *
+     * @return true if frames are drawn by the render thread, false otherwise
+     */
+    boolean isReady() {
+        return running && enabled && surface.isDisplayable();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (frameRequested.getAndSet(false)) {
+                try {
+                    surface.render(drawing);
+                } catch (RuntimeException ex) {
+                    logger.error("RuntimeException occurred in the render thread.", ex);
+                }
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.daniel.alienintruders.view;
 
-import com.daniel.alienintruders.database.entity.ScoreboardEntry;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Font;
@@ -24,13 +23,13 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.border.TitledBorder;
+import javax.swing.table.TableModel;
 
 /**
  * Displays the list of scores ordered from greatest to lowest.
@@ -44,26 +43,63 @@ public class ScoreboardPanel extends JPanel implements ActionListener {
      */
     public static final String CLOSE_COMMAND = "Close";
 
+    /**
+     * The command to show the personal bests of the players
+     */
+    public static final String PERSONAL_BESTS_COMMAND = "Personal Bests";
+
+    /**
+     * The command to show all scores
+     */
+    public static final String ALL_SCORES_COMMAND = "All Scores";
+
+    /**
+     * The title of the scoreboard
+     */
+    public static final String SCOREBOARD_TITLE = "Scoreboard";
+
     /**
      * The main frame
      */
     private final GameMainFrame gameMainFrame;
 
     /**
-     * The game scores to display
+     * The table model paging through the scores
+     */
+    private final ScoreboardTableModel model;
+
+    /**
+     * The table model of the personal bests
+     */
+    private final PersonalBestsTableModel personalBestsModel;
+
+    /**
+     * The table showing either model
+     */
+    private JTable table;
+
+    /**
+     * The button switching between the models
+     */
+    private GameButton viewButton;
+
+    /**
+     * The border of the table panel
      */
-    private final List<ScoreboardEntry> scores;
+    private TitledBorder scoreboardBorder;
 
     /**
-     * Sets the values for the main frame and the scores.
+     * Sets the values for the main frame and the table models.
      *
      * @param gameMainFrame the main frame
-     * @param scores the list of scores
+     * @param model the table model paging through the scores
+     * @param personalBestsModel the table model of the personal bests
      */
     public ScoreboardPanel(GameMainFrame gameMainFrame,
-            List<ScoreboardEntry> scores) {
+            ScoreboardTableModel model, PersonalBestsTableModel personalBestsModel) {
         this.gameMainFrame = gameMainFrame;
-        this.scores = scores;
+        this.model = model;
+        this.personalBestsModel = personalBestsModel;
         initialize();
     }
 
@@ -78,8 +114,7 @@ public class ScoreboardPanel extends JPanel implements ActionListener {
         tablePanel.setBackground(GameMainFrame.BACKGROUND_COLOR);
         GridBagConstraints constraints = new GridBagConstraints();
 
-        ScoreboardTableModel model = new ScoreboardTableModel(scores);
-        JTable table = new JTable(model);
+        table = new JTable(model);
         ScoreboardCellRenderer cellRenderer = new ScoreboardCellRenderer();
         table.setDefaultRenderer(Object.class, cellRenderer);
 
@@ -94,10 +129,13 @@ public class ScoreboardPanel extends JPanel implements ActionListener {
         constraints.insets = new Insets(10, 20, 10, 20);  //top, left, bottom, right
         tablePanel.add(scrollPane, constraints);
 
+        viewButton = new GameButton(PERSONAL_BESTS_COMMAND);
+        viewButton.addActionListener(this);
         GameButton closeButton = new GameButton(CLOSE_COMMAND);
         closeButton.addActionListener(this);
         JPanel closeButtonPanel = new JPanel();
         closeButtonPanel.setBackground(GameMainFrame.BACKGROUND_COLOR);
+        closeButtonPanel.add(viewButton);
         closeButtonPanel.add(closeButton);
         constraints.fill = GridBagConstraints.HORIZONTAL;
         constraints.gridx = 0;
@@ -108,8 +146,8 @@ public class ScoreboardPanel extends JPanel implements ActionListener {
         constraints.anchor = GridBagConstraints.SOUTH;
         tablePanel.add(closeButtonPanel, constraints);
 
-        TitledBorder scoreboardBorder = BorderFactory.createTitledBorder(
-                BorderFactory.createEtchedBorder(), "Scoreboard",
+        scoreboardBorder = BorderFactory.createTitledBorder(
+                BorderFactory.createEtchedBorder(), SCOREBOARD_TITLE,
                 TitledBorder.CENTER, TitledBorder.TOP);
         scoreboardBorder.setTitleFont(new Font("Arial", Font.BOLD, 20));
         scoreboardBorder.setTitleColor(Color.BLACK);
@@ -126,8 +164,29 @@ public class ScoreboardPanel extends JPanel implements ActionListener {
             case CLOSE_COMMAND:
                 gameMainFrame.closeScoreboard();
                 break;
+            case PERSONAL_BESTS_COMMAND:
+                showModel(personalBestsModel, PERSONAL_BESTS_COMMAND, ALL_SCORES_COMMAND);
+                break;
+            case ALL_SCORES_COMMAND:
+                showModel(model, SCOREBOARD_TITLE, PERSONAL_BESTS_COMMAND);
+                break;
             default:
                 break;
         }
     }
+
+    /**
+     * Shows the given model in the table.
+     *
+     * @param tableModel the model to show
+     * @param title the title of the table panel
+     * @param nextCommand the command of the button switching to the other model
+     */
+    private void showModel(TableModel tableModel, String title, String nextCommand) {
+        table.setModel(tableModel);
+        scoreboardBorder.setTitle(title);
+        viewButton.setText(nextCommand);
+        viewButton.setActionCommand(nextCommand);
+        repaint();
+    }
 }
@@ -15,34 +15,90 @@
  */
 package com.daniel.alienintruders.view;
 
+import com.daniel.alienintruders.database.GameDataAccess;
 import com.daniel.alienintruders.database.entity.ScoreboardEntry;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 /**
- * The table model to manage scoreboard data.
+ * The table model to manage scoreboard data. Scores are fetched a page at a time as rows are displayed, on a single
+ * background thread, and only the most recently displayed pages are kept. Rows whose page has not arrived yet are
+ * shown empty and updated when it does.
  *
  * @author Bryan Daniel
  */
 public class ScoreboardTableModel extends AbstractTableModel {
 
+    /**
+     * The number of scores fetched per page
+     */
+    public static final int PAGE_SIZE = 100;
+
+    /**
+     * The maximum number of pages kept in memory
+     */
+    public static final int MAX_CACHED_PAGES = 32;
+
+    /**
+     * The time in seconds the page loading thread stays alive without work
+     */
+    public static final long LOADER_KEEP_ALIVE = 5;
+
     /**
      * The column headers
      */
     private final String[] columnNames = {"Rank", "Player", "Score", "Time (seconds)"};
 
     /**
-     * The list of scores
+     * The number of scores
+     */
+    private final int rowCount;
+
+    /**
+     * The loaded pages by page number, least recently used first. Only accessed on the EDT.
+     */
+    private final Map<Integer, List<ScoreboardEntry>> pages
+            = new LinkedHashMap<Integer, List<ScoreboardEntry>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ScoreboardEntry>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    /**
+     * The pages requested but not yet loaded. Only accessed on the EDT.
+     */
+    private final Set<Integer> pagesLoading = new HashSet<>();
+
+    /**
+     * The executor loading pages
      */
-    private final List<ScoreboardEntry> scores;
+    private final ThreadPoolExecutor pageLoader;
 
     /**
-     * Sets the value for scores.
+     * Sets the values for the number of scores and the first page.
      *
-     * @param scores the scores to display
+     * @param rowCount the number of scores
+     * @param firstPage the first page of scores, ordered from best to worst
      */
-    public ScoreboardTableModel(List<ScoreboardEntry> scores) {
-        this.scores = scores;
+    public ScoreboardTableModel(int rowCount, List<ScoreboardEntry> firstPage) {
+        this.rowCount = rowCount;
+        pages.put(0, firstPage);
+        pageLoader = new ThreadPoolExecutor(1, 1, LOADER_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                (Runnable runnable) -> {
+                    Thread thread = new Thread(runnable, "scoreboard-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pageLoader.allowCoreThreadTimeOut(true);
     }
 
     @Override
@@ -57,29 +113,70 @@ public class ScoreboardTableModel extends AbstractTableModel {
 
     @Override
     public int getRowCount() {
-        return scores.size();
+        return rowCount;
     }
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
         String value = "";
         String column = columnNames[columnIndex];
+        if ("Rank".equals(column)) {
+            return String.valueOf(rowIndex + 1);
+        }
+        ScoreboardEntry score = getScore(rowIndex);
+        if (score == null) {
+            return value;
+        }
         switch (column) {
-            case "Rank":
-                value = String.valueOf(rowIndex + 1);
-                break;
             case "Player":
-                value = scores.get(rowIndex).getPlayerName();
+                value = score.getPlayerName();
                 break;
             case "Score":
-                value = String.valueOf(scores.get(rowIndex).getScore());
+                value = String.valueOf(score.getScore());
                 break;
             case "Time (seconds)":
-                value = String.valueOf(scores.get(rowIndex).getGameTimeElapsed());
+                value = String.valueOf(score.getGameTimeElapsed());
                 break;
             default:
                 break;
         }
         return value;
     }
+
+    /**
+     * Returns the score in the given row, requesting its page if it is not loaded.
+     *
+     * @param rowIndex the row
+     * @return the score or null if its page is not loaded
+     */
+    private ScoreboardEntry getScore(int rowIndex) {
+        int page = rowIndex / PAGE_SIZE;
+        List<ScoreboardEntry> scores = pages.get(page);
+        if (scores == null) {
+            requestPage(page);
+            return null;
+        }
+        int index = rowIndex % PAGE_SIZE;
+        return index < scores.size() ? scores.get(index) : null;
+    }
+
+    /**
+     * Loads the given page in the background unless it is already being loaded.
+     *
+     * @param page the page number
+     */
+    private void requestPage(int page) {
+        if (!pagesLoading.add(page)) {
+            return;
+        }
+        pageLoader.execute(() -> {
+            List<ScoreboardEntry> scores = GameDataAccess.findScores(page * PAGE_SIZE, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                pagesLoading.remove(page);
+                pages.put(page, scores);
+                int firstRow = page * PAGE_SIZE;
+                fireTableRowsUpdated(firstRow, Math.min(rowCount, firstRow + PAGE_SIZE) - 1);
+            });
+        });
+    }
 }
@@ -7,3 +7,7 @@
 
 # Comment out the command below if using the command above
 java -jar AlienIntruders-1.0-SNAPSHOT.jar
+
+# To record a Flight Recorder session with the game events, 
+# use the command below instead.
+# java -XX:StartFlightRecording=settings=alien-intruders.jfc,filename=alien-intruders.jfr -jar AlienIntruders-1.0-SNAPSHOT.jar
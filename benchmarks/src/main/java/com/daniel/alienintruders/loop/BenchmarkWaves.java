@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.database.entity.AlienWave;
+
+/**
+ * Creates the alien waves used by the benchmarks.
+ *
+ * @author Bryan Daniel
+ */
+public class BenchmarkWaves {
+
+    /**
+     * The number of alien columns in synthetic swarms
+     */
+    public static final int SWARM_COLUMNS = 100;
+
+    /**
+     * Private constructor - not instantiated
+     */
+    private BenchmarkWaves() {
+    }
+
+    /**
+     * Creates the alien wave matching the reference data seeded into the alien_wave table.
+     *
+     * @param wave the number of the wave, from 1 to 4
+     * @return the alien wave
+     */
+    public static AlienWave seededWave(int wave) {
+        AlienWave alienWave = new AlienWave();
+        alienWave.setWave(wave);
+        alienWave.setDescription("Seeded wave " + wave);
+        alienWave.setNumberOfRows(5);
+        alienWave.setNumberOfColumns(6 + wave);
+        alienWave.setMissileSpeed(2 + 2 * wave);
+        alienWave.setPoints(100 * wave);
+        return alienWave;
+    }
+
+    /**
+     * Creates a synthetic alien wave with the given number of aliens arranged in rows of SWARM_COLUMNS.
+     *
+     * @param alienCount the number of aliens, a multiple of SWARM_COLUMNS
+     * @return the alien wave
+     */
+    public static AlienWave swarm(int alienCount) {
+        AlienWave alienWave = new AlienWave();
+        alienWave.setWave(1);
+        alienWave.setDescription("Synthetic swarm of " + alienCount);
+        alienWave.setNumberOfRows(alienCount / SWARM_COLUMNS);
+        alienWave.setNumberOfColumns(SWARM_COLUMNS);
+        alienWave.setMissileSpeed(4);
+        alienWave.setPoints(100);
+        return alienWave;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.loop;
+
+import com.daniel.alienintruders.context.GameContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single tick of the game engine for the seeded alien waves.
+ *
+ * @author Bryan Daniel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEngineBenchmark {
+
+    /**
+     * The number of the seeded wave, from 7x5 up to 10x5 aliens
+     */
+    @Param({"1", "2", "3", "4"})
+    public int wave;
+
+    /**
+     * The game context
+     */
+    private GameContext gameContext;
+
+    /**
+     * The game engine
+     */
+    private GameEngine gameEngine;
+
+    /**
+     * Creates a fresh game for every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        startGame();
+    }
+
+    /**
+     * Advances the game by one tick, starting a new game once it is over.
+     *
+     * @return the game context
+     */
+    @Benchmark
+    public GameContext update() {
+        gameEngine.update();
+        if (gameEngine.isGameOver()) {
+            startGame();
+        }
+        return gameContext;
+    }
+
+    /**
+     * Starts a new game, so the measured ticks are those of a game in progress rather than of a lost one, like the
+     * headless game runner does.
+     */
+    private void startGame() {
+        gameContext = GameContext.createHeadlessContext(BenchmarkWaves.seededWave(wave));
+        gameEngine = new GameEngine(gameContext, new GameEventListener() {
+        });
+    }
+}
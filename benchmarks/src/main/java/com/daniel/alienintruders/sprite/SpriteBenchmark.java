@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Bryan Daniel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.daniel.alienintruders.sprite;
+
+import com.daniel.alienintruders.context.GameContext;
+import com.daniel.alienintruders.loop.BenchmarkWaves;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-sprite operations of the game loop hot path.
+ *
+ * @author Bryan Daniel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteBenchmark {
+
+    /**
+     * The swarm moving in normal mode
+     */
+    private AlienSwarm alienSwarm;
+
+    /**
+     * The swarm moving in kamikazi mode
+     */
+    private AlienSwarm kamikaziSwarm;
+
+    /**
+     * A laser overlapping the first alien
+     */
+    private Laser hittingLaser;
+
+    /**
+     * A laser far away from the first alien
+     */
+    private Laser missingLaser;
+
+    /**
+     * Creates sprites from the largest seeded wave.
+     */
+    @Setup
+    public void setUp() {
+        alienSwarm = createSwarm(false);
+        kamikaziSwarm = createSwarm(true);
+        hittingLaser = new Laser(alienSwarm.getX(0), alienSwarm.getY(0));
+        missingLaser = new Laser(0, GameContext.FIELD_HEIGHT);
+    }
+
+    /**
+     * Tests an alien and an overlapping laser for collision.
+     *
+     * @return the collision result
+     */
+    @Benchmark
+    public boolean isCollidingHit() {
+        return alienSwarm.intersects(0, hittingLaser);
+    }
+
+    /**
+     * Tests an alien and a distant laser for collision.
+     *
+     * @return the collision result
+     */
+    @Benchmark
+    public boolean isCollidingMiss() {
+        return alienSwarm.intersects(0, missingLaser);
+    }
+
+    /**
+     * Moves the formation in normal mode.
+     *
+     * @return the swarm
+     */
+    @Benchmark
+    public AlienSwarm move() {
+        if (hasLeftField(alienSwarm)) {
+            alienSwarm = createSwarm(false);
+        }
+        alienSwarm.move();
+        return alienSwarm;
+    }
+
+    /**
+     * Moves the formation in kamikazi mode.
+     *
+     * @return the swarm
+     */
+    @Benchmark
+    public AlienSwarm moveKamikazi() {
+        if (hasLeftField(kamikaziSwarm)) {
+            kamikaziSwarm = createSwarm(true);
+        }
+        kamikaziSwarm.move();
+        return kamikaziSwarm;
+    }
+
+    /**
+     * Computes the route of a missile from the alien to the spaceship and returns the route to its pool, so the
+     * benchmark does not drain the pool.
+     *
+     * @return the missile route
+     */
+    @Benchmark
+    public MissileRoute determineMissileRoute() {
+        MissileRoute missileRoute = alienSwarm.determineMissileRoute(0, 8);
+        alienSwarm.getMissileRoutePool().release(missileRoute);
+        return missileRoute;
+    }
+
+    /**
+     * Creates a swarm at its starting position from the largest seeded wave.
+     *
+     * @param kamikaziMode indicates if the swarm moves in kamikazi mode
+     * @return the swarm
+     */
+    private AlienSwarm createSwarm(boolean kamikaziMode) {
+        AlienSwarm swarm = GameContext.createHeadlessContext(BenchmarkWaves.seededWave(4)).getAlienSwarm();
+        if (kamikaziMode) {
+            swarm.setKamikaziMode(true);
+        }
+        return swarm;
+    }
+
+    /**
+     * Determines if the swarm has descended below the playing field, so the movement benchmarks start it over
+     * instead of measuring a formation no game would ever move.
+     *
+     * @param swarm the swarm
+     * @return true if the top row of the swarm is below the playing field, false otherwise
+     */
+    private boolean hasLeftField(AlienSwarm swarm) {
+        return swarm.getY(0) > GameContext.FIELD_HEIGHT;
+    }
+}